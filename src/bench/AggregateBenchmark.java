@@ -0,0 +1,57 @@
+package bench;
+
+import trees.AggregateTreeNode;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Grows a tree one addChild at a time and asks for count/max/min/depth of the root every few
+ * inserts, comparing plain TreeNodes (each query walks the tree) with AggregateTreeNodes
+ * (each insert updates its ancestors, each query is O(1)).
+ *
+ * Usage: java -cp .:lib/* bench.AggregateBenchmark [nodes]
+ */
+public class AggregateBenchmark {
+    private static long sink;
+
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        System.out.println("BEGIN AGGREGATE BENCHMARK");
+        System.out.printf("%-10s %10s %14s %12s%n", "tree", "nodes", "inserts/query", "ms");
+        for (int queryEvery : new int[]{1000, 100, 10}) {
+            for (int round = 0; round < 2; round++) {
+                // The first round only warms up the JIT
+                long plain = run(false, nodes, queryEvery);
+                long aggregate = run(true, nodes, queryEvery);
+                if (round == 1) {
+                    System.out.printf("%-10s %10d %14d %12.2f%n", "plain", nodes, queryEvery, plain / 1e6);
+                    System.out.printf("%-10s %10d %14d %12.2f%n", "aggregate", nodes, queryEvery, aggregate / 1e6);
+                }
+            }
+        }
+    }
+
+    private static long run(boolean aggregate, int nodes, int queryEvery) {
+        Random random = new Random(143);
+        ArrayList<TreeNode<Integer>> all = new ArrayList<>(nodes);
+        long start = System.nanoTime();
+        all.add(aggregate ? new AggregateTreeNode(0) : new TreeNode<>(0));
+        for (int i = 1; i < nodes; i++) {
+            int value = random.nextInt();
+            TreeNode<Integer> node = aggregate ? new AggregateTreeNode(value) : new TreeNode<>(value);
+            // Random recursive tree: about log n deep, so the plain recursive queries are safe
+            all.get(random.nextInt(i)).addChild(node);
+            all.add(node);
+            if (i % queryEvery == 0) {
+                TreeNode<Integer> root = all.get(0);
+                sink += TreeAlgorithms.count(root) + TreeAlgorithms.max(root)
+                        + TreeAlgorithms.min(root) + TreeAlgorithms.depth(root);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,110 @@
+package bench;
+
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.BinaryTreeIterator;
+import trees.TreeAlgorithms;
+import trees.TreeIterator;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs every public method of BinaryTreeAlgorithms and TreeAlgorithms against each generated
+ * tree shape and size, and prints throughput, average time and allocation per call.
+ *
+ * Usage: java -Xmx8g -cp .:lib/* bench.AlgorithmsBenchmark [sizes] [filter]
+ *   sizes  comma separated node counts, default 1000,10000,100000,1000000 (add 10000000 with enough heap)
+ *   filter only run operations whose name contains this string
+ */
+public class AlgorithmsBenchmark {
+    public static void main(String[] args) {
+        int[] sizes = Arrays.stream((args.length > 0 ? args[0] : "1000,10000,100000,1000000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        String filter = args.length > 1 ? args[1] : "";
+        BenchmarkHarness harness = new BenchmarkHarness();
+
+        System.out.println("BEGIN ALGORITHMS BENCHMARK");
+        for (int n : sizes) {
+            for (TreeGenerators.BinaryShape shape : TreeGenerators.BinaryShape.values()) {
+                BinaryNode<Integer> root = TreeGenerators.binary(shape, n, n);
+                // Built from the same shape and seed, so it is equal to root without sharing any node
+                BinaryNode<Integer> copy = TreeGenerators.binary(shape, n, n);
+                run(harness, "binary/" + shape, n, binaryOperations(root, copy, n), filter);
+            }
+            for (TreeGenerators.TreeShape shape : TreeGenerators.TreeShape.values()) {
+                TreeNode<Integer> root = TreeGenerators.tree(shape, n, n);
+                TreeNode<Integer> copy = TreeGenerators.tree(shape, n, n);
+                run(harness, "tree/" + shape, n, treeOperations(root, copy), filter);
+            }
+        }
+    }
+
+    private static void run(BenchmarkHarness harness, String shape, int n,
+                            Map<String, BenchmarkHarness.Operation> operations, String filter) {
+        for (Map.Entry<String, BenchmarkHarness.Operation> entry : operations.entrySet()) {
+            if (!entry.getKey().contains(filter)) {
+                continue;
+            }
+            String result;
+            try {
+                result = harness.measure(entry.getValue()).toString();
+            } catch (StackOverflowError e) {
+                // Some algorithms still recurse on the call stack; record it rather than abort the run
+                result = "StackOverflowError";
+            }
+            System.out.printf("%-16s %-10d %-26s %s%n", shape, n, entry.getKey(), result);
+        }
+    }
+
+    private static Map<String, BenchmarkHarness.Operation> binaryOperations(BinaryNode<Integer> root, BinaryNode<Integer> copy, int n) {
+        int[] keys = TreeGenerators.shuffledKeys(n, 1);
+        int[] next = {0};
+        Map<String, BenchmarkHarness.Operation> operations = new LinkedHashMap<>();
+        long[] sum = {0};
+        operations.put("preOrder", () -> BinaryTreeAlgorithms.preOrder(root));
+        operations.put("preOrder(sink)", () -> { BinaryTreeAlgorithms.preOrder(root, v -> sum[0] += v); return sum; });
+        operations.put("inOrder", () -> BinaryTreeAlgorithms.inOrder(root));
+        operations.put("inOrder(sink)", () -> { BinaryTreeAlgorithms.inOrder(root, v -> sum[0] += v); return sum; });
+        operations.put("postOrder", () -> BinaryTreeAlgorithms.postOrder(root));
+        operations.put("postOrder(sink)", () -> { BinaryTreeAlgorithms.postOrder(root, v -> sum[0] += v); return sum; });
+        operations.put("stream(inOrder).limit(10)", () -> BinaryTreeAlgorithms.stream(root, BinaryTreeIterator.Order.inOrder)
+                .limit(10).reduce(0, Integer::sum));
+        operations.put("binarySearch", () -> BinaryTreeAlgorithms.binarySearch(root, keys[next[0]++ % n]));
+        operations.put("insert(existing)", () -> BinaryTreeAlgorithms.insert(root, keys[next[0]++ % n]));
+        operations.put("equals(copy)", () -> BinaryTreeAlgorithms.equals(root, copy));
+        operations.put("path", () -> BinaryTreeAlgorithms.path(root, keys[next[0]++ % n]));
+        return operations;
+    }
+
+    private static Map<String, BenchmarkHarness.Operation> treeOperations(TreeNode<Integer> root, TreeNode<Integer> copy) {
+        // Look up payloads that really are in the tree, spread across it
+        List<Integer> targets = new ArrayList<>();
+        TreeAlgorithms.stream(root, TreeIterator.Order.bfs).forEach(v -> {
+            if (targets.size() < 1000 && v % 97 == 0) {
+                targets.add(v);
+            }
+        });
+        if (targets.isEmpty()) {
+            targets.add(root.payload);
+        }
+        int[] next = {0};
+        Map<String, BenchmarkHarness.Operation> operations = new LinkedHashMap<>();
+        operations.put("max", () -> TreeAlgorithms.max(root));
+        operations.put("min", () -> TreeAlgorithms.min(root));
+        operations.put("leaves", () -> TreeAlgorithms.leaves(root));
+        operations.put("count", () -> TreeAlgorithms.count(root));
+        operations.put("depth", () -> TreeAlgorithms.depth(root));
+        operations.put("equals(copy)", () -> TreeAlgorithms.equals(root, copy));
+        operations.put("bfs", () -> TreeAlgorithms.bfs(root));
+        operations.put("stream(dfs).limit(10)", () -> TreeAlgorithms.stream(root, TreeIterator.Order.dfs)
+                .limit(10).reduce(0, Integer::sum));
+        operations.put("path", () -> TreeAlgorithms.path(root, targets.get(next[0]++ % targets.size())));
+        operations.put("paths(100 targets)", () -> TreeAlgorithms.paths(root, targets.subList(0, Math.min(100, targets.size()))));
+        return operations;
+    }
+}
@@ -0,0 +1,95 @@
+package bench;
+
+import trees.AvlTree;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * Compares the plain BST insert with the AVL tree on sorted and random key streams.
+ * Sorted input turns the plain BST into a list, so its insert and search times grow
+ * quadratically while the AVL tree stays at n log n.
+ *
+ * Usage: java -cp .:lib/* bench.BalancedInsertBenchmark [maxKeys]
+ */
+public class BalancedInsertBenchmark {
+    public static void main(String[] args) {
+        int maxKeys = args.length > 0 ? Integer.parseInt(args[0]) : 64_000;
+
+        System.out.println("BEGIN BALANCED INSERT BENCHMARK");
+        System.out.printf("%-7s %-6s %9s %12s %12s %8s%n", "tree", "keys", "n", "insert ms", "search ms", "height");
+
+        for (int n = 1_000; n <= maxKeys; n *= 2) {
+            for (String workload : new String[]{"sorted", "random"}) {
+                int[] keys = keys(workload, n);
+                runPlain(workload, keys);
+                runAvl(workload, keys);
+            }
+        }
+    }
+
+    private static void runPlain(String workload, int[] keys) {
+        long start = System.nanoTime();
+        BinaryNode<Integer> root = null;
+        for (int key : keys) {
+            BinaryNode<Integer> node = BinaryTreeAlgorithms.insert(root, key);
+            if (root == null) {
+                root = node;
+            }
+        }
+        long inserted = System.nanoTime();
+        for (int key : keys) {
+            BinaryTreeAlgorithms.binarySearch(root, key);
+        }
+        long searched = System.nanoTime();
+        print("plain", workload, keys.length, start, inserted, searched, height(root));
+    }
+
+    private static void runAvl(String workload, int[] keys) {
+        long start = System.nanoTime();
+        AvlTree tree = new AvlTree();
+        for (int key : keys) {
+            tree.insert(key);
+        }
+        long inserted = System.nanoTime();
+        for (int key : keys) {
+            tree.binarySearch(key);
+        }
+        long searched = System.nanoTime();
+        print("avl", workload, keys.length, start, inserted, searched, tree.height());
+    }
+
+    private static void print(String tree, String workload, int n, long start, long inserted, long searched, int height) {
+        System.out.printf("%-7s %-6s %9d %12.2f %12.2f %8d%n", tree, workload, n,
+                (inserted - start) / 1e6, (searched - inserted) / 1e6, height);
+    }
+
+    private static int[] keys(String workload, int n) {
+        int[] keys = new int[n];
+        Random random = new Random(n);
+        for (int i = 0; i < n; i++) {
+            keys[i] = workload.equals("sorted") ? i : random.nextInt();
+        }
+        return keys;
+    }
+
+    // Height by counting the levels of a breadth first walk
+    private static int height(BinaryNode<Integer> root) {
+        int height = 0;
+        ArrayDeque<BinaryNode<Integer>> level = new ArrayDeque<>();
+        if (root != null) {
+            level.add(root);
+        }
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                BinaryNode<Integer> node = level.remove();
+                if (node.left != null) { level.add(node.left); }
+                if (node.right != null) { level.add(node.right); }
+            }
+        }
+        return height;
+    }
+}
@@ -0,0 +1,97 @@
+package bench;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * A small timing harness for the benchmark mains in this package.
+ *
+ * Each measurement runs a number of warm-up iterations (so the JIT has compiled the code)
+ * followed by timed iterations. Every iteration calls the operation in a loop for a fixed
+ * amount of wall time. Results are reported as throughput, average time per call, and
+ * bytes allocated per call on the calling thread (the same number JMH's -prof gc reports
+ * as gc.alloc.rate.norm).
+ */
+public class BenchmarkHarness {
+    /**
+     * A benchmarked operation. The returned value is consumed so the JIT cannot drop the work.
+     */
+    public interface Operation {
+        Object run();
+    }
+
+    public static class Result {
+        public final double opsPerSecond;
+        public final double nanosPerOp;
+        public final double bytesPerOp;
+
+        Result(double opsPerSecond, double nanosPerOp, double bytesPerOp) {
+            this.opsPerSecond = opsPerSecond;
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        public String toString() {
+            return String.format("%14.1f ops/s %14.1f ns/op %14.1f B/op", opsPerSecond, nanosPerOp, bytesPerOp);
+        }
+    }
+
+    private static volatile int blackhole;
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+
+    public BenchmarkHarness() {
+        this(3, 5, 200);
+    }
+
+    /**
+     * @param warmupIterations Untimed iterations run first.
+     * @param measureIterations Timed iterations.
+     * @param iterationMillis Wall time spent in each iteration.
+     */
+    public BenchmarkHarness(int warmupIterations, int measureIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000;
+    }
+
+    public Result measure(Operation operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(operation);
+        }
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < measureIterations; i++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            ops += iteration(operation);
+            nanos += System.nanoTime() - start;
+            bytes += allocatedBytes() - allocatedBefore;
+        }
+        return new Result(ops * 1e9 / nanos, (double) nanos / ops, (double) bytes / ops);
+    }
+
+    private long iteration(Operation operation) {
+        long ops = 0;
+        long deadline = System.nanoTime() + iterationNanos;
+        int sink = 0;
+        // Always run at least once so slow operations still get measured
+        do {
+            Object result = operation.run();
+            sink += result == null ? 0 : System.identityHashCode(result);
+            ops++;
+        } while (System.nanoTime() < deadline);
+        blackhole = sink;
+        return ops;
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
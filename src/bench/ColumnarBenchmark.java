@@ -0,0 +1,48 @@
+package bench;
+
+import trees.ColumnarTree;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.Arrays;
+
+/**
+ * Compares the pointer-based TreeAlgorithms scans with the same scans over a ColumnarTree
+ * snapshot, on each TreeGenerators shape.
+ *
+ * Usage: java -Xmx4g -cp .:lib/* bench.ColumnarBenchmark [sizes]
+ *   sizes comma separated node counts, default 10000,1000000
+ */
+public class ColumnarBenchmark {
+    public static void main(String[] args) {
+        int[] sizes = Arrays.stream((args.length > 0 ? args[0] : "10000,1000000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        BenchmarkHarness harness = new BenchmarkHarness();
+
+        System.out.println("BEGIN COLUMNAR BENCHMARK");
+        for (int n : sizes) {
+            for (TreeGenerators.TreeShape shape : TreeGenerators.TreeShape.values()) {
+                TreeNode<Integer> root = TreeGenerators.tree(shape, n, n);
+                long start = System.nanoTime();
+                ColumnarTree frozen = ColumnarTree.freeze(root);
+                System.out.printf("%-8s %-9d %-8s %-8s %.1f ms%n", shape, n, "freeze", "", (System.nanoTime() - start) / 1e6);
+
+                print(shape, n, "max", "pointer", harness.measure(() -> TreeAlgorithms.max(root)));
+                print(shape, n, "max", "columnar", harness.measure(frozen::max));
+                print(shape, n, "min", "pointer", harness.measure(() -> TreeAlgorithms.min(root)));
+                print(shape, n, "min", "columnar", harness.measure(frozen::min));
+                print(shape, n, "count", "pointer", harness.measure(() -> TreeAlgorithms.count(root)));
+                print(shape, n, "count", "columnar", harness.measure(frozen::count));
+                print(shape, n, "leaves", "pointer", harness.measure(() -> TreeAlgorithms.leaves(root)));
+                print(shape, n, "leaves", "columnar", harness.measure(frozen::leaves));
+                print(shape, n, "bfs", "pointer", harness.measure(() -> TreeAlgorithms.bfs(root)));
+                print(shape, n, "bfs", "columnar", harness.measure(frozen::bfs));
+            }
+        }
+    }
+
+    private static void print(TreeGenerators.TreeShape shape, int n, String operation, String layout,
+                              BenchmarkHarness.Result result) {
+        System.out.printf("%-8s %-9d %-8s %-8s %s%n", shape, n, operation, layout, result);
+    }
+}
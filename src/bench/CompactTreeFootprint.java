@@ -0,0 +1,74 @@
+package bench;
+
+import trees.CompactTreeNode;
+import trees.TreeBuilder;
+import trees.TreeNode;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the heap held by the same tree built four ways: plain TreeNodes with addChild,
+ * CompactTreeNodes with addChild, plain TreeNodes shrunk afterwards by CompactTreeNode::compact,
+ * and TreeBuilder::fromParentArray. Each node hangs off a uniformly chosen earlier node, which
+ * makes about half of them leaves and most of the rest parents of one or two children.
+ *
+ * JOL is not available here, so retained heap is measured around each build with
+ * Runtime after forced collections.
+ *
+ * Usage: java -Xmx4g -cp .:lib/* bench.CompactTreeFootprint [nodes]
+ */
+public class CompactTreeFootprint {
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int[] parents = new int[n];
+        int[] values = new int[n];
+        Random random = new Random(143);
+        for (int i = 0; i < n; i++) {
+            parents[i] = i == 0 ? -1 : random.nextInt(i);
+            values[i] = random.nextInt();
+        }
+
+        System.out.println("BEGIN COMPACT TREE FOOTPRINT");
+        System.out.printf("%-12s %10s %12s %12s%n", "tree", "nodes", "heap MB", "bytes/node");
+        measure("addChild", n, () -> build(parents, values, false));
+        measure("compact", n, () -> build(parents, values, true));
+        measure("compacted", n, () -> {
+            TreeNode<Integer> root = build(parents, values, false);
+            CompactTreeNode.compact(root);
+            return root;
+        });
+        measure("builder", n, () -> TreeBuilder.fromParentArray(parents, values));
+    }
+
+    private static TreeNode<Integer> build(int[] parents, int[] values, boolean compact) {
+        @SuppressWarnings("unchecked")
+        TreeNode<Integer>[] nodes = (TreeNode<Integer>[]) new TreeNode<?>[parents.length];
+        for (int i = 0; i < parents.length; i++) {
+            nodes[i] = compact ? new CompactTreeNode<>(values[i]) : new TreeNode<>(values[i]);
+            if (parents[i] >= 0) {
+                nodes[parents[i]].addChild(nodes[i]);
+            }
+        }
+        return nodes[0];
+    }
+
+    private static void measure(String name, int n, Supplier<TreeNode<Integer>> build) {
+        long before = usedHeap();
+        TreeNode<Integer> root = build.get();
+        long bytes = usedHeap() - before;
+        System.out.printf("%-12s %10d %12.1f %12.1f%n", name, n, bytes / 1048576.0, (double) bytes / n);
+        // Touch the root afterwards so the tree stays reachable through the measurement
+        if (root.payload == null) {
+            System.out.println();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,116 @@
+package bench;
+
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.ConcurrentBinarySearchTree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures throughput of mixed binarySearch/insert workloads across threads, comparing
+ * ConcurrentBinarySearchTree against the plain BinaryTreeAlgorithms behind one global lock.
+ *
+ * Usage: java -cp .:lib/* bench.ConcurrentTreeBenchmark [keys] [millisPerRun]
+ */
+public class ConcurrentTreeBenchmark {
+    private interface Tree {
+        boolean contains(int key);
+
+        void insert(int key);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 1_000;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("BEGIN CONCURRENT TREE BENCHMARK");
+        System.out.printf("keys=%d cores=%d%n", keys, cores);
+        System.out.printf("%-10s %8s %8s %16s%n", "tree", "reads %", "threads", "ops/s");
+        for (int readPercent : new int[]{50, 90, 99}) {
+            for (int threads = 1; threads <= Math.max(2, cores * 2); threads *= 2) {
+                System.out.printf("%-10s %8d %8d %16.0f%n", "locked", readPercent, threads,
+                        run(lockedTree(keys), keys, readPercent, threads, millis));
+                System.out.printf("%-10s %8d %8d %16.0f%n", "concurrent", readPercent, threads,
+                        run(concurrentTree(keys), keys, readPercent, threads, millis));
+            }
+        }
+    }
+
+    private static double run(Tree tree, int keys, int readPercent, int threads, long millis)
+            throws InterruptedException {
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder ops = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final long seed = t;
+            workers.add(new Thread(() -> {
+                Random random = new Random(seed);
+                long done = 0;
+                while (!stop.get()) {
+                    // Keys go up to 2 * keys so half of the inserts add something new
+                    int key = random.nextInt(2 * keys);
+                    if (random.nextInt(100) < readPercent) {
+                        tree.contains(key);
+                    } else {
+                        tree.insert(key);
+                    }
+                    done++;
+                }
+                ops.add(done);
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return ops.sum() * 1000.0 / millis;
+    }
+
+    // Both trees start with the same random keys so neither is degenerate
+    private static Tree lockedTree(int keys) {
+        int[] shuffled = TreeGenerators.shuffledKeys(keys, 143);
+        BinaryNode<Integer> root = BinaryTreeAlgorithms.insert(null, shuffled[0] * 2);
+        for (int key : shuffled) {
+            BinaryTreeAlgorithms.insert(root, key * 2);
+        }
+        Object lock = new Object();
+        return new Tree() {
+            public boolean contains(int key) {
+                synchronized (lock) {
+                    return BinaryTreeAlgorithms.binarySearch(root, key) != null;
+                }
+            }
+
+            public void insert(int key) {
+                synchronized (lock) {
+                    BinaryTreeAlgorithms.insert(root, key);
+                }
+            }
+        };
+    }
+
+    private static Tree concurrentTree(int keys) {
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree();
+        for (int key : TreeGenerators.shuffledKeys(keys, 143)) {
+            tree.insert(key * 2);
+        }
+        return new Tree() {
+            public boolean contains(int key) {
+                return tree.contains(key);
+            }
+
+            public void insert(int key) {
+                tree.insert(key);
+            }
+        };
+    }
+}
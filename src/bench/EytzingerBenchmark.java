@@ -0,0 +1,47 @@
+package bench;
+
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.EytzingerTree;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares pointer-chasing BinaryTreeAlgorithms.binarySearch with the frozen Eytzinger layout
+ * on random-order BSTs. The default sizes run well past a typical L3 cache: 16M nodes are over
+ * half a gigabyte as BinaryNode/Integer objects, and 64 MB even as a bare int[].
+ * Lookups are for uniformly random present keys, so nearly every level below the top few misses.
+ *
+ * Usage: java -Xmx4g -cp .:lib/* bench.EytzingerBenchmark [sizes]
+ *   sizes comma separated node counts, default 1000000,4000000,16000000
+ */
+public class EytzingerBenchmark {
+    private static final int QUERIES = 1 << 20;
+
+    public static void main(String[] args) {
+        int[] sizes = Arrays.stream((args.length > 0 ? args[0] : "1000000,4000000,16000000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        BenchmarkHarness harness = new BenchmarkHarness();
+
+        System.out.println("BEGIN EYTZINGER BENCHMARK");
+        for (int n : sizes) {
+            BinaryNode<Integer> root = TreeGenerators.binary(TreeGenerators.BinaryShape.random, n, n);
+            long start = System.nanoTime();
+            EytzingerTree frozen = EytzingerTree.freeze(root);
+            System.out.printf("%-10d %-14s %.1f ms%n", n, "freeze", (System.nanoTime() - start) / 1e6);
+
+            int[] queries = new int[QUERIES];
+            Random random = new Random(n);
+            for (int i = 0; i < QUERIES; i++) {
+                queries[i] = random.nextInt(n);
+            }
+
+            int[] next = new int[1];
+            System.out.printf("%-10d %-14s %s%n", n, "binarySearch", harness.measure(() ->
+                    BinaryTreeAlgorithms.binarySearch(root, queries[next[0]++ & (QUERIES - 1)])));
+            System.out.printf("%-10d %-14s %s%n", n, "eytzinger", harness.measure(() ->
+                    frozen.indexOf(queries[next[0]++ & (QUERIES - 1)])));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package bench;
+
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.IntBinarySearchTree;
+
+import java.util.Random;
+
+/**
+ * Compares the heap used by a boxed BinaryNode<Integer> BST with an IntBinarySearchTree
+ * holding the same random keys, along with their insert and search times.
+ *
+ * Usage: java -Xmx4g -cp .:lib/* bench.IntTreeFootprint [keys]
+ */
+public class IntTreeFootprint {
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int[] keys = new int[n];
+        Random random = new Random(143);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+
+        System.out.println("BEGIN INT TREE FOOTPRINT");
+        System.out.printf("%-8s %10s %12s %12s %12s %12s%n", "tree", "keys", "heap MB", "bytes/key", "insert ms", "search ms");
+
+        long before = usedHeap();
+        long start = System.nanoTime();
+        BinaryNode<Integer> boxed = BinaryTreeAlgorithms.insert(null, keys[0]);
+        for (int i = 1; i < n; i++) {
+            BinaryTreeAlgorithms.insert(boxed, keys[i]);
+        }
+        long inserted = System.nanoTime();
+        int hits = 0;
+        for (int key : keys) {
+            hits += BinaryTreeAlgorithms.binarySearch(boxed, key) != null ? 1 : 0;
+        }
+        long searched = System.nanoTime();
+        long boxedBytes = usedHeap() - before;
+        print("boxed", n, boxedBytes, start, inserted, searched);
+        boxed = null;
+
+        before = usedHeap();
+        start = System.nanoTime();
+        IntBinarySearchTree tree = new IntBinarySearchTree(n);
+        for (int key : keys) {
+            tree.insert(key);
+        }
+        inserted = System.nanoTime();
+        for (int key : keys) {
+            hits += tree.contains(key) ? 1 : 0;
+        }
+        searched = System.nanoTime();
+        long intBytes = usedHeap() - before;
+        print("int[]", n, intBytes, start, inserted, searched);
+
+        // Printing the tree size keeps it reachable until after the measurement
+        System.out.printf("footprint ratio: %.1fx (hits=%d, size=%d)%n", (double) boxedBytes / intBytes, hits, tree.size());
+    }
+
+    private static void print(String name, int n, long bytes, long start, long inserted, long searched) {
+        System.out.printf("%-8s %10d %12.1f %12.1f %12.1f %12.1f%n", name, n, bytes / 1048576.0,
+                (double) bytes / n, (inserted - start) / 1e6, (searched - inserted) / 1e6);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,159 @@
+package bench;
+
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compares the iterative TreeAlgorithms walks against recursive reference versions on the
+ * shallow tree shapes, where recursion never runs out of stack and is at its best.
+ *
+ * The reference versions below are the original recursive walks, with the same null-children and
+ * equals semantics as the iterative ones, so both sides do the same work. Each tree is settled by a
+ * full GC before it is measured, and the two sides are measured alternately twice, keeping the best
+ * of each, so neither side benefits from where the collector happened to move the nodes.
+ *
+ * Usage: java -cp .:lib/* bench.IterativeWalkBenchmark [sizes]
+ *   sizes  comma separated node counts, default 1000,10000,100000
+ */
+public class IterativeWalkBenchmark {
+    public static void main(String[] args) {
+        int[] sizes = Arrays.stream((args.length > 0 ? args[0] : "1000,10000,100000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        BenchmarkHarness harness = new BenchmarkHarness();
+
+        System.out.println("BEGIN ITERATIVE WALK BENCHMARK");
+        System.out.printf("%-8s %-8s %-7s %14s %14s %8s%n", "shape", "n", "op", "recursive ns", "iterative ns", "ratio");
+        for (int n : sizes) {
+            for (TreeGenerators.TreeShape shape : new TreeGenerators.TreeShape[]{
+                    TreeGenerators.TreeShape.wide, TreeGenerators.TreeShape.random}) {
+                TreeNode<Integer> root = TreeGenerators.tree(shape, n, n);
+                System.gc();
+                List<Integer> targets = new ArrayList<>();
+                TreeAlgorithms.bfs(root).forEach(v -> {
+                    if (targets.size() < 1000 && v % 97 == 0) {
+                        targets.add(v);
+                    }
+                });
+                if (targets.isEmpty()) {
+                    targets.add(root.payload);
+                }
+                int[] next = {0, 0};
+
+                Map<String, BenchmarkHarness.Operation[]> operations = new LinkedHashMap<>();
+                operations.put("max", new BenchmarkHarness.Operation[]{
+                        () -> Recursive.max(root), () -> TreeAlgorithms.max(root)});
+                operations.put("min", new BenchmarkHarness.Operation[]{
+                        () -> Recursive.min(root), () -> TreeAlgorithms.min(root)});
+                operations.put("leaves", new BenchmarkHarness.Operation[]{
+                        () -> Recursive.leaves(root), () -> TreeAlgorithms.leaves(root)});
+                operations.put("count", new BenchmarkHarness.Operation[]{
+                        () -> Recursive.count(root), () -> TreeAlgorithms.count(root)});
+                operations.put("depth", new BenchmarkHarness.Operation[]{
+                        () -> Recursive.depth(root), () -> TreeAlgorithms.depth(root)});
+                operations.put("path", new BenchmarkHarness.Operation[]{
+                        () -> Recursive.path(root, targets.get(next[0]++ % targets.size())),
+                        () -> TreeAlgorithms.path(root, targets.get(next[1]++ % targets.size()))});
+
+                for (Map.Entry<String, BenchmarkHarness.Operation[]> entry : operations.entrySet()) {
+                    double recursive = Double.MAX_VALUE;
+                    double iterative = Double.MAX_VALUE;
+                    for (int round = 0; round < 2; round++) {
+                        recursive = Math.min(recursive, harness.measure(entry.getValue()[0]).nanosPerOp);
+                        iterative = Math.min(iterative, harness.measure(entry.getValue()[1]).nanosPerOp);
+                    }
+                    System.out.printf("%-8s %-8d %-7s %14.1f %14.1f %8.2f%n",
+                            shape, n, entry.getKey(), recursive, iterative, iterative / recursive);
+                }
+            }
+        }
+    }
+
+    private static class Recursive {
+        static Integer max(TreeNode<Integer> node) {
+            int max = node.payload;
+            if (node.children != null) {
+                for (TreeNode<Integer> child : node.children) {
+                    max = Math.max(max, max(child));
+                }
+            }
+            return max;
+        }
+
+        static Integer min(TreeNode<Integer> node) {
+            int min = node.payload;
+            if (node.children != null) {
+                for (TreeNode<Integer> child : node.children) {
+                    min = Math.min(min, min(child));
+                }
+            }
+            return min;
+        }
+
+        static LinkedList<TreeNode<Integer>> leaves(TreeNode<Integer> root) {
+            LinkedList<TreeNode<Integer>> leaves = new LinkedList<>();
+            leaves(root, leaves);
+            return leaves;
+        }
+
+        private static void leaves(TreeNode<Integer> node, LinkedList<TreeNode<Integer>> leaves) {
+            if (node.children == null || node.children.isEmpty()) {
+                leaves.add(node);
+                return;
+            }
+            for (TreeNode<Integer> child : node.children) {
+                leaves(child, leaves);
+            }
+        }
+
+        static int count(TreeNode<Integer> node) {
+            int count = 1;
+            if (node.children != null) {
+                for (TreeNode<Integer> child : node.children) {
+                    count += count(child);
+                }
+            }
+            return count;
+        }
+
+        static int depth(TreeNode<Integer> node) {
+            if (node.children == null || node.children.isEmpty()) {
+                return 0;
+            }
+            int height = 0;
+            for (TreeNode<Integer> child : node.children) {
+                height = Math.max(height, depth(child));
+            }
+            return height + 1;
+        }
+
+        static LinkedList<TreeNode<Integer>> path(TreeNode<Integer> root, Integer value) {
+            LinkedList<TreeNode<Integer>> path = new LinkedList<>();
+            path(root, value, path);
+            return path;
+        }
+
+        private static boolean path(TreeNode<Integer> node, Integer value, LinkedList<TreeNode<Integer>> path) {
+            path.addLast(node);
+            if (Objects.equals(node.payload, value)) {
+                return true;
+            }
+            if (node.children != null) {
+                for (TreeNode<Integer> child : node.children) {
+                    if (path(child, value, path)) {
+                        return true;
+                    }
+                }
+            }
+            path.removeLast();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package bench;
+
+import trees.ParallelTreeAlgorithms;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how the fork-join aggregates scale from 1 to N worker threads
+ * on wide, deep and random trees, against the sequential TreeAlgorithms walk.
+ *
+ * Pool sizes double from 1 up to maxThreads, which defaults to the number of available cores;
+ * passing a larger value oversubscribes the cores and shows the pool's own overhead.
+ *
+ * Usage: java -Xmx4g -cp .:lib/* bench.ParallelAggregateBenchmark [nodes] [threshold] [maxThreads]
+ */
+public class ParallelAggregateBenchmark {
+    private static long sink;
+
+    public static void main(String[] args) {
+        int nodes = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threshold = args.length > 1 ? Integer.parseInt(args[1]) : ParallelTreeAlgorithms.DEFAULT_THRESHOLD;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : cores;
+
+        System.out.println("BEGIN PARALLEL AGGREGATE BENCHMARK");
+        System.out.printf("nodes=%d threshold=%d cores=%d maxThreads=%d%n", nodes, threshold, cores, maxThreads);
+        System.out.printf("%-7s %-6s %8s %12s %9s %9s%n", "shape", "op", "threads", "ms", "speedup", "vs seq");
+
+        for (TreeGenerators.TreeShape shape : TreeGenerators.TreeShape.values()) {
+            TreeNode<Integer> root = TreeGenerators.tree(shape, nodes, 143);
+            for (String op : new String[]{"max", "min", "count", "depth"}) {
+                double sequential = time(op, root, null, threshold);
+                System.out.printf("%-7s %-6s %8s %12.2f %9s %9.2f%n", shape, op, "seq", sequential, "", 1.0);
+                double base = 0;
+                for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                    ForkJoinPool pool = new ForkJoinPool(threads);
+                    double ms = time(op, root, pool, threshold);
+                    pool.shutdown();
+                    if (threads == 1) {
+                        base = ms;
+                    }
+                    System.out.printf("%-7s %-6s %8d %12.2f %9.2f %9.2f%n", shape, op, threads, ms, base / ms, sequential / ms);
+                }
+            }
+        }
+    }
+
+    // A null pool times the sequential TreeAlgorithms version
+    private static double time(String op, TreeNode<Integer> root, ForkJoinPool pool, int threshold) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            long start = System.nanoTime();
+            if (pool == null) {
+                switch (op) {
+                    case "max": sink += TreeAlgorithms.max(root); break;
+                    case "min": sink += TreeAlgorithms.min(root); break;
+                    case "count": sink += TreeAlgorithms.count(root); break;
+                    default: sink += TreeAlgorithms.depth(root);
+                }
+                best = Math.min(best, System.nanoTime() - start);
+                continue;
+            }
+            switch (op) {
+                case "max": sink += ParallelTreeAlgorithms.max(root, pool, threshold); break;
+                case "min": sink += ParallelTreeAlgorithms.min(root, pool, threshold); break;
+                case "count": sink += ParallelTreeAlgorithms.count(root, pool, threshold); break;
+                default: sink += ParallelTreeAlgorithms.depth(root, pool, threshold);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1e6;
+    }
+}
@@ -0,0 +1,54 @@
+package bench;
+
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+
+/**
+ * Times the pre/in/post-order traversals on balanced and fully skewed trees of growing size.
+ * If the traversals are linear the ns/node column stays flat as the trees grow.
+ *
+ * Usage: java -Xmx4g -cp .:lib/* bench.TraversalBenchmark [maxNodes]
+ */
+public class TraversalBenchmark {
+    private static long sum;
+
+    public static void main(String[] args) {
+        int maxNodes = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+
+        System.out.println("BEGIN TRAVERSAL BENCHMARK");
+        System.out.printf("%-9s %-10s %10s %12s %12s%n", "shape", "order", "nodes", "ms", "ns/node");
+
+        for (int n = 1_000; n <= maxNodes; n *= 10) {
+            run("balanced", TreeGenerators.binary(TreeGenerators.BinaryShape.balanced, n, n));
+            run("skewed", TreeGenerators.binary(TreeGenerators.BinaryShape.skewed, n, n));
+        }
+    }
+
+    private static void run(String shape, BinaryNode<Integer> root) {
+        int n = root == null ? 0 : BinaryTreeAlgorithms.preOrder(root).size();
+        for (String order : new String[]{"preOrder", "inOrder", "postOrder"}) {
+            // A few warm-up passes so the JIT has compiled the traversal before we time it
+            for (int i = 0; i < 3; i++) {
+                traverse(order, root);
+            }
+            long start = System.nanoTime();
+            traverse(order, root);
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%-9s %-10s %10d %12.2f %12.2f%n",
+                    shape, order, n, elapsed / 1e6, (double) elapsed / n);
+        }
+    }
+
+    private static void traverse(String order, BinaryNode<Integer> root) {
+        switch (order) {
+            case "preOrder":
+                BinaryTreeAlgorithms.preOrder(root, v -> sum += v);
+                break;
+            case "inOrder":
+                BinaryTreeAlgorithms.inOrder(root, v -> sum += v);
+                break;
+            default:
+                BinaryTreeAlgorithms.postOrder(root, v -> sum += v);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package bench;
+
+import trees.TreeBuilder;
+import trees.TreeNode;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Builds the same random tree from an edge file twice: once the naive way, reading each record and
+ * calling addChild on default-sized children lists, and once with TreeBuilder::fromEdges, which
+ * counts degrees first and presizes every list. Reports build time, GC time and the heap the
+ * finished tree holds.
+ *
+ * Usage: java -Xmx8g -cp .:lib/* bench.TreeBuilderBenchmark [nodes]
+ *   nodes default 10000000; 100000000 needs roughly -Xmx12g for the tree itself
+ */
+public class TreeBuilderBenchmark {
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Path file = Files.createTempFile("edges", ".bin");
+        try {
+            writeRandomEdges(file, n);
+            System.out.println("BEGIN TREE BUILDER BENCHMARK");
+            System.out.printf("%-10s %12s %10s %10s %12s%n", "builder", "nodes", "build ms", "gc ms", "tree MB");
+            for (int round = 0; round < 2; round++) {
+                measure("addChild", n, () -> naive(file, n));
+                measure("presized", n, () -> TreeBuilder.fromEdges(file));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private interface Build {
+        TreeNode<Integer> run() throws IOException;
+    }
+
+    private static void measure(String name, int n, Build build) throws IOException {
+        long before = usedHeap();
+        long gcBefore = gcMillis();
+        long start = System.nanoTime();
+        TreeNode<Integer> root = build.run();
+        long built = System.nanoTime();
+        long gc = gcMillis() - gcBefore;
+        long bytes = usedHeap() - before;
+        System.out.printf("%-10s %12d %10.0f %10d %12.1f%n", name, n, (built - start) / 1e6, gc, bytes / 1048576.0);
+        // Touch the root afterwards so the tree stays reachable through the heap measurement
+        if (root.payload == null) {
+            System.out.println();
+        }
+    }
+
+    // Node i hangs off a uniformly chosen earlier node, so parents always come before children
+    private static void writeRandomEdges(Path file, int n) throws IOException {
+        Random random = new Random(143);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < n; i++) {
+                if (buffer.remaining() < 12) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(i == 0 ? -1 : random.nextInt(i)).putInt(i).putInt(random.nextInt());
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static TreeNode<Integer> naive(Path file, int n) throws IOException {
+        @SuppressWarnings("unchecked")
+        TreeNode<Integer>[] nodes = (TreeNode<Integer>[]) new TreeNode<?>[n];
+        TreeNode<Integer> root = null;
+        ByteBuffer buffer = ByteBuffer.allocateDirect(12 << 16);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= 12) {
+                    int parent = buffer.getInt();
+                    int child = buffer.getInt();
+                    nodes[child] = new TreeNode<>(buffer.getInt());
+                    if (parent < 0) {
+                        root = nodes[child];
+                    } else {
+                        nodes[parent].addChild(nodes[child]);
+                    }
+                }
+                buffer.compact();
+            }
+        }
+        return root;
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,118 @@
+package bench;
+
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Builds the tree shapes used by the benchmarks. Every builder is iterative or
+ * log-depth recursive, so even the skewed and deep shapes can be built at 10M nodes.
+ */
+public class TreeGenerators {
+    public enum BinaryShape {
+        balanced,
+        skewed,
+        random
+    }
+
+    public enum TreeShape {
+        wide,
+        deep,
+        random
+    }
+
+    /**
+     * Builds a binary search tree holding the keys 0 to n - 1.
+     * @param shape balanced: perfectly balanced; skewed: every node only has a right child,
+     *              as sorted inserts produce; random: keys inserted in random order.
+     * @param n Number of nodes.
+     * @param seed Seed for the random shape.
+     */
+    public static BinaryNode<Integer> binary(BinaryShape shape, int n, long seed) {
+        switch (shape) {
+            case balanced:
+                return balanced(0, n - 1);
+            case skewed: {
+                BinaryNode<Integer> root = new BinaryNode<>(0);
+                BinaryNode<Integer> current = root;
+                for (int i = 1; i < n; i++) {
+                    current.right = new BinaryNode<>(i);
+                    current = current.right;
+                }
+                return root;
+            }
+            default: {
+                int[] keys = shuffledKeys(n, seed);
+                BinaryNode<Integer> root = BinaryTreeAlgorithms.insert(null, keys[0]);
+                for (int i = 1; i < n; i++) {
+                    BinaryTreeAlgorithms.insert(root, keys[i]);
+                }
+                return root;
+            }
+        }
+    }
+
+    /**
+     * Builds an N-ary tree with n nodes holding random payloads.
+     * @param shape wide: 1000 children under the root and the rest spread beneath them;
+     *              deep: a spine made of every fourth node (about n / 4 deep), where each spine
+     *              node but the deepest also has three leaf children (the root has six);
+     *              random: each node hangs off a uniformly chosen earlier node (depth around log n).
+     * @param n Number of nodes.
+     * @param seed Seed for payloads and random shape.
+     */
+    public static TreeNode<Integer> tree(TreeShape shape, int n, long seed) {
+        Random random = new Random(seed);
+        ArrayList<TreeNode<Integer>> all = new ArrayList<>(n);
+        TreeNode<Integer> root = new TreeNode<>(random.nextInt());
+        all.add(root);
+        for (int i = 1; i < n; i++) {
+            TreeNode<Integer> child = new TreeNode<>(random.nextInt());
+            TreeNode<Integer> parent;
+            switch (shape) {
+                case wide:
+                    parent = i <= 1000 ? root : all.get(1 + random.nextInt(Math.min(i - 1, 1000)));
+                    break;
+                case deep:
+                    // Every fourth node extends the spine; the three after it are leaves under the
+                    // spine node above it (the root for the first six), so the deepest spine node is a leaf
+                    parent = all.get(i % 4 == 0 ? i - 4 : Math.max(0, i - (i % 4) - 4));
+                    break;
+                default:
+                    parent = all.get(random.nextInt(i));
+            }
+            parent.addChild(child);
+            all.add(child);
+        }
+        return root;
+    }
+
+    /**
+     * @return The keys 0 to n - 1 in a random order.
+     */
+    public static int[] shuffledKeys(int n, long seed) {
+        Random random = new Random(seed);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = keys[i];
+            keys[i] = keys[j];
+            keys[j] = swap;
+        }
+        return keys;
+    }
+
+    private static BinaryNode<Integer> balanced(int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        return new BinaryNode<>(mid, balanced(lo, mid - 1), balanced(mid + 1, hi));
+    }
+}
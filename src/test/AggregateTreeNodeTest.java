@@ -0,0 +1,73 @@
+package test;
+
+import org.junit.Test;
+import trees.AggregateTreeNode;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class AggregateTreeNodeTest {
+    @Test
+    public void MatchesPlainTreeTest() {
+        Random random = new Random(143);
+        ArrayList<AggregateTreeNode> aggregate = new ArrayList<>();
+        ArrayList<TreeNode<Integer>> plain = new ArrayList<>();
+        aggregate.add(new AggregateTreeNode(0));
+        plain.add(new TreeNode<>(0));
+
+        for (int i = 1; i < 2_000; i++) {
+            int value = random.nextInt(10_000) - 5_000;
+            int parent = random.nextInt(i);
+            AggregateTreeNode node = new AggregateTreeNode(value);
+            aggregate.get(parent).addChild(node);
+            aggregate.add(node);
+            TreeNode<Integer> plainNode = new TreeNode<>(value);
+            plain.get(parent).addChild(plainNode);
+            plain.add(plainNode);
+
+            if (i % 97 == 0) {
+                int probe = random.nextInt(i + 1);
+                assertEquals(TreeAlgorithms.count(plain.get(probe)), TreeAlgorithms.count(aggregate.get(probe)));
+                assertEquals(TreeAlgorithms.max(plain.get(probe)), TreeAlgorithms.max(aggregate.get(probe)));
+                assertEquals(TreeAlgorithms.min(plain.get(probe)), TreeAlgorithms.min(aggregate.get(probe)));
+                assertEquals(TreeAlgorithms.depth(plain.get(probe)), TreeAlgorithms.depth(aggregate.get(probe)));
+            }
+        }
+        assertSame(aggregate.get(0), aggregate.get(1).getParent());
+        assertNull(aggregate.get(0).getParent());
+    }
+
+    @Test
+    public void AddSubtreeTest() {
+        AggregateTreeNode root = new AggregateTreeNode(5);
+        AggregateTreeNode subtree = new AggregateTreeNode(10);
+        subtree.addChild(new AggregateTreeNode(-3));
+        subtree.getChild(0).addChild(new AggregateTreeNode(40));
+
+        root.addChild(subtree);
+        assertEquals(4, root.size());
+        assertEquals(-3, root.min());
+        assertEquals(40, root.max());
+        assertEquals(3, root.height());
+
+        try {
+            root.addChild(new TreeNode<>(1));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            subtree.getChild(0).addChild(root);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            root.addChild(subtree);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
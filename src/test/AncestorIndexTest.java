@@ -0,0 +1,126 @@
+package test;
+
+import org.junit.Test;
+import trees.AncestorIndex;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class AncestorIndexTest {
+    // The slow way: compare the two root-to-node paths
+    private static TreeNode<Integer> pathLca(TreeNode<Integer> root, int a, int b) {
+        LinkedList<TreeNode<Integer>> pathA = TreeAlgorithms.path(root, a);
+        LinkedList<TreeNode<Integer>> pathB = TreeAlgorithms.path(root, b);
+        TreeNode<Integer> common = null;
+        for (int i = 0; i < Math.min(pathA.size(), pathB.size()) && pathA.get(i) == pathB.get(i); i++) {
+            common = pathA.get(i);
+        }
+        return common;
+    }
+
+    @Test
+    public void MatchesPathsTest() {
+        Random random = new Random(143);
+        // Node i hangs off a random earlier node; the first half is indexed up front,
+        // the second half is appended through the index
+        List<TreeNode<Integer>> nodes = new ArrayList<>();
+        nodes.add(new TreeNode<>(0));
+        for (int i = 1; i < 200; i++) {
+            nodes.add(new TreeNode<>(i));
+            nodes.get(random.nextInt(i)).addChild(nodes.get(i));
+        }
+        TreeNode<Integer> root = nodes.get(0);
+        AncestorIndex<Integer> index = new AncestorIndex<>(root);
+        for (int i = 200; i < 400; i++) {
+            nodes.add(new TreeNode<>(i));
+            index.addChild(nodes.get(random.nextInt(i)), nodes.get(i));
+        }
+        assertEquals(400, index.size());
+
+        for (int q = 0; q < 2_000; q++) {
+            int a = random.nextInt(400);
+            int b = random.nextInt(400);
+            TreeNode<Integer> lca = pathLca(root, a, b);
+            assertSame(lca, index.lca(nodes.get(a), nodes.get(b)));
+            int depthA = TreeAlgorithms.path(root, a).size() - 1;
+            int depthB = TreeAlgorithms.path(root, b).size() - 1;
+            int depthLca = TreeAlgorithms.path(root, lca.payload).size() - 1;
+            assertEquals(depthA, index.depth(nodes.get(a)));
+            assertEquals(depthA + depthB - 2 * depthLca, index.distance(nodes.get(a), nodes.get(b)));
+            assertEquals(lca == nodes.get(a), index.isAncestor(nodes.get(a), nodes.get(b)));
+        }
+    }
+
+    @Test
+    public void DeepChainTest() {
+        TreeNode<Integer> root = new TreeNode<>(0);
+        AncestorIndex<Integer> index = new AncestorIndex<>(root);
+        TreeNode<Integer> current = root;
+        TreeNode<Integer> middle = null;
+        for (int i = 1; i < 100_000; i++) {
+            TreeNode<Integer> child = new TreeNode<>(i);
+            index.addChild(current, child);
+            current = child;
+            if (i == 50_000) {
+                middle = child;
+            }
+        }
+        //  0 - ... - 50000 - ... - 99999
+        //              \
+        //             side (a subtree of two nodes attached at once)
+        TreeNode<Integer> side = new TreeNode<>(-1);
+        side.addChild(new TreeNode<>(-2));
+        index.addChild(middle, side);
+        TreeNode<Integer> sideLeaf = side.getChild(0);
+
+        assertSame(middle, index.lca(current, sideLeaf));
+        assertEquals(49_999 + 2, index.distance(current, sideLeaf));
+        assertTrue(index.isAncestor(root, current));
+        assertTrue(index.isAncestor(current, current));
+        assertFalse(index.isAncestor(current, root));
+        assertFalse(index.isAncestor(side, current));
+        assertEquals(50_002, index.depth(sideLeaf));
+    }
+
+    @Test
+    public void InvalidNodeTest() {
+        TreeNode<Integer> root = new TreeNode<>(1);
+        AncestorIndex<Integer> index = new AncestorIndex<>(root);
+        TreeNode<Integer> stranger = new TreeNode<>(1); // equal payload, different node
+        assertFalse(index.contains(stranger));
+        try {
+            index.lca(root, stranger);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            index.addChild(root, root);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // A new subtree holding an indexed node is rejected before the tree or index changes
+        TreeNode<Integer> child = new TreeNode<>(2);
+        child.addChild(new TreeNode<>(3));
+        child.addChild(root);
+        try {
+            index.addChild(root, child);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        assertEquals(0, root.children.size());
+        assertEquals(1, index.size());
+        assertFalse(index.contains(child));
+        child.children.remove(1);
+        index.addChild(root, child);
+        assertEquals(3, index.size());
+        assertEquals(2, index.depth(child.getChild(0)));
+        assertEquals(0, new AncestorIndex<>((TreeNode<Integer>) null).size());
+    }
+}
@@ -0,0 +1,234 @@
+package test;
+
+import org.junit.Test;
+import trees.AvlTree;
+import trees.BinaryNode;
+import trees.BinarySearchTreeIndex;
+import trees.BinaryTreeAlgorithms;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static junit.framework.TestCase.*;
+
+public class AvlTreeTest {
+    // Checks the BST ordering and that the height stays within the AVL bound
+    private static void assertBalanced(AvlTree tree) {
+        List<Integer> inOrder = BinaryTreeAlgorithms.inOrder(tree.getRoot());
+        if (inOrder == null) {
+            assertEquals(0, tree.size());
+            return;
+        }
+        assertEquals(tree.size(), inOrder.size());
+        for (int i = 1; i < inOrder.size(); i++) {
+            assertTrue(inOrder.get(i - 1) < inOrder.get(i));
+        }
+        double bound = 1.45 * Math.log(tree.size() + 2) / Math.log(2);
+        assertTrue("height " + tree.height() + " for " + tree.size() + " nodes", tree.height() <= bound);
+    }
+
+    // Checks that every node's kept size is one more than its children's
+    private static void assertSizes(BinaryNode<Integer> root) {
+        ArrayDeque<BinaryNode<Integer>> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            BinaryNode<Integer> node = stack.pop();
+            assertEquals(1 + BinaryTreeAlgorithms.size(node.left) + BinaryTreeAlgorithms.size(node.right),
+                    BinaryTreeAlgorithms.size(node));
+            if (node.left != null) { stack.push(node.left); }
+            if (node.right != null) { stack.push(node.right); }
+        }
+    }
+
+    private static void assertRankSelect(BinaryNode<Integer> root, TreeSet<Integer> expected) {
+        assertSizes(root);
+        assertEquals(expected.size(), BinaryTreeAlgorithms.size(root));
+        List<Integer> sorted = new ArrayList<>(expected);
+        for (int k = 0; k < sorted.size(); k += 7) {
+            assertEquals(sorted.get(k), BinaryTreeAlgorithms.select(root, k).payload);
+            assertEquals(k, BinaryTreeAlgorithms.rank(root, sorted.get(k)));
+        }
+        assertEquals(expected.size(), BinaryTreeAlgorithms.rank(root, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void SortedInsertTest() {
+        AvlTree tree = new AvlTree();
+        for (int i = 0; i < 100_000; i++) {
+            BinaryNode<Integer> node = tree.insert(i);
+            assertEquals(Integer.valueOf(i), node.payload);
+        }
+        assertBalanced(tree);
+        assertTrue(tree.height() <= 17);
+
+        // Inserting an existing value hands back the same node
+        assertSame(tree.binarySearch(500), tree.insert(500));
+        assertEquals(100_000, tree.size());
+        assertTrue(tree.contains(99_999));
+        assertFalse(tree.contains(100_000));
+    }
+
+    @Test
+    public void RandomInsertDeleteTest() {
+        Random random = new Random(143);
+        AvlTree tree = new AvlTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            int value = random.nextInt(5_000);
+            if (random.nextBoolean()) {
+                tree.insert(value);
+                expected.add(value);
+            } else {
+                assertEquals(expected.remove(value), tree.delete(value));
+            }
+        }
+        assertBalanced(tree);
+        assertEquals(new ArrayList<>(expected), BinaryTreeAlgorithms.inOrder(tree.getRoot()));
+    }
+
+    @Test
+    public void DeleteKeepsNodesTest() {
+        AvlTree tree = new AvlTree();
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(1));
+        for (int value : values) {
+            tree.insert(value);
+        }
+
+        BinaryNode<Integer> node701 = tree.binarySearch(701);
+        for (int i = 0; i < 1_000; i += 2) {
+            assertTrue(tree.delete(i));
+        }
+        assertFalse(tree.delete(0));
+        assertBalanced(tree);
+        // Rotations and deletes relink nodes rather than copying payloads around
+        assertSame(node701, tree.binarySearch(701));
+        assertSame(node701, tree.insert(701));
+
+        for (int i = 1; i < 1_000; i += 2) {
+            assertTrue(tree.delete(i));
+        }
+        assertNull(tree.getRoot());
+        assertEquals(0, tree.height());
+    }
+
+    @Test
+    public void RankSelectTest() {
+        Random random = new Random(7);
+        AvlTree tree = new AvlTree();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(20_000);
+            if (random.nextInt(4) == 0) {
+                tree.delete(value);
+                expected.remove(value);
+            } else {
+                tree.insert(value);
+                expected.add(value);
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(expected);
+        for (int k = 0; k < sorted.size(); k += 13) {
+            assertEquals(sorted.get(k), tree.select(k).payload);
+            assertEquals(k, tree.rank(sorted.get(k)));
+        }
+        assertEquals(0, tree.rank(Integer.MIN_VALUE));
+        assertEquals(tree.size(), tree.rank(Integer.MAX_VALUE));
+        try {
+            tree.select(tree.size());
+            fail();
+        } catch (IndexOutOfBoundsException expectedException) {
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int lo = random.nextInt(20_000);
+            int hi = lo + random.nextInt(500);
+            List<Integer> scanned = new ArrayList<>();
+            tree.rangeScan(lo, hi, scanned::add);
+            assertEquals(new ArrayList<>(expected.subSet(lo, true, hi, true)), scanned);
+            assertEquals(scanned.size(), tree.rangeCount(lo, hi));
+        }
+    }
+
+    @Test
+    public void RangeScanTest() {
+        // Works on any BST, including a degenerate one
+        BinaryNode<Integer> chain = BinaryTreeAlgorithms.insert(null, 0);
+        for (int i = 1; i < 20_000; i++) {
+            BinaryTreeAlgorithms.insert(chain, i);
+        }
+        List<Integer> scanned = new ArrayList<>();
+        BinaryTreeAlgorithms.rangeScan(chain, 19_990, 30_000, scanned::add);
+        assertEquals(10, scanned.size());
+        assertEquals(Integer.valueOf(19_990), scanned.get(0));
+
+        scanned.clear();
+        BinaryTreeAlgorithms.rangeScan(chain, 5, 4, scanned::add);
+        BinaryTreeAlgorithms.rangeScan(null, 0, 10, scanned::add);
+        assertTrue(scanned.isEmpty());
+    }
+
+    @Test
+    public void BinaryRankSelectTest() {
+        Random random = new Random(143);
+        TreeSet<Integer> expected = new TreeSet<>();
+        BinaryNode<Integer> root = null;
+        for (int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                root = BinaryTreeAlgorithms.delete(root, value);
+                expected.remove(value);
+            } else if (root == null) {
+                root = BinaryTreeAlgorithms.insert(null, value);
+                expected.add(value);
+            } else {
+                BinaryTreeAlgorithms.insert(root, value); // inserting an existing value changes nothing
+                expected.add(value);
+            }
+        }
+        assertRankSelect(root, expected);
+
+        List<Integer> doomed = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            doomed.add(random.nextInt(5_000));
+        }
+        root = BinaryTreeAlgorithms.deleteAll(root, doomed);
+        expected.removeAll(doomed);
+        assertRankSelect(root, expected);
+
+        root = BinaryTreeAlgorithms.rebalance(root, 0.6);
+        assertRankSelect(root, expected);
+        try {
+            BinaryTreeAlgorithms.select(root, expected.size());
+            fail();
+        } catch (IndexOutOfBoundsException expectedException) {
+        }
+
+        assertRankSelect(BinaryTreeAlgorithms.fromSorted(expected.iterator()), expected);
+        assertRankSelect(BinaryTreeAlgorithms.fromSorted(new ArrayList<>(expected)), expected);
+
+        BinarySearchTreeIndex index = new BinarySearchTreeIndex(null);
+        for (int value : doomed) {
+            index.insert(value);
+        }
+        assertRankSelect(index.getRoot(), new TreeSet<>(doomed));
+
+        // Sizes go stale after writing links directly, until updateSizes
+        BinaryNode<Integer> small = new BinaryNode<>(2, new BinaryNode<>(1), null);
+        small.right = new BinaryNode<>(3);
+        assertEquals(2, BinaryTreeAlgorithms.size(small));
+        BinaryTreeAlgorithms.updateSizes(small);
+        assertRankSelect(small, new TreeSet<>(Arrays.asList(1, 2, 3)));
+        assertEquals(0, BinaryTreeAlgorithms.size(null));
+    }
+}
@@ -0,0 +1,90 @@
+package test;
+
+import org.junit.Test;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class BatchPathTest {
+    @Test
+    public void MatchesSinglePathTest() {
+        Random random = new Random(143);
+        ArrayList<TreeNode<Integer>> all = new ArrayList<>();
+        all.add(new TreeNode<>(0));
+        for (int i = 1; i < 100; i++) {
+            TreeNode<Integer> child = new TreeNode<>(i);
+            all.get(random.nextInt(i)).addChild(child);
+            all.add(child);
+        }
+        TreeNode<Integer> root = all.get(0);
+
+        ArrayList<Integer> targets = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            targets.add(i);
+        }
+        targets.add(-5);
+        Map<Integer, LinkedList<TreeNode<Integer>>> paths = TreeAlgorithms.paths(root, targets);
+
+        assertEquals(101, paths.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(TreeAlgorithms.path(root, i), paths.get(i));
+        }
+        assertEquals(new LinkedList<>(), paths.get(-5));
+    }
+
+    @Test
+    public void EqualsSemanticsTest() {
+        TreeNode<Integer> root = new TreeNode<>(1000);
+        root.addChild(new TreeNode<>(2000));
+        root.getChild(0).addChild(new TreeNode<>(3000));
+
+        Map<Integer, LinkedList<TreeNode<Integer>>> paths =
+                TreeAlgorithms.paths(root, Arrays.asList(Integer.valueOf(3000), Integer.valueOf(1000)));
+        assertEquals(Arrays.asList(root, root.getChild(0), root.getChild(0).getChild(0)), paths.get(3000));
+        assertEquals(Arrays.asList(root), paths.get(1000));
+
+        assertEquals(new LinkedList<>(), TreeAlgorithms.paths(null, Arrays.asList(1)).get(1));
+    }
+
+    @Test
+    public void WideTreeTest() {
+        // A root with 100k leaf children is only one level deep, so the walk should need next to no
+        // stack, where pushing every child up front would hold all 100k of them at once
+        int n = 100_000;
+        TreeNode<Integer> root = new TreeNode<>(-1);
+        for (int i = 0; i < n; i++) {
+            root.addChild(new TreeNode<>(i));
+        }
+        List<Integer> targets = Arrays.asList(0, n / 2, n - 1, n);
+        TreeAlgorithms.paths(root, targets); // warm up so class loading is not counted below
+
+        long before = allocatedBytes();
+        Map<Integer, LinkedList<TreeNode<Integer>>> paths = TreeAlgorithms.paths(root, targets);
+        long allocated = allocatedBytes() - before;
+
+        for (int i : new int[]{0, n / 2, n - 1}) {
+            assertEquals(Arrays.asList(root, root.getChild(i)), paths.get(i));
+        }
+        assertEquals(new LinkedList<>(), paths.get(n));
+        if (before >= 0) {
+            assertTrue("allocated " + allocated + " bytes", allocated < 64 * 1024);
+        }
+    }
+
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
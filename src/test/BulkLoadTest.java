@@ -0,0 +1,72 @@
+package test;
+
+import org.junit.Test;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static junit.framework.TestCase.*;
+
+public class BulkLoadTest {
+    private static int height(BinaryNode<Integer> node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private static int balancedHeight(int n) {
+        return 32 - Integer.numberOfLeadingZeros(n);
+    }
+
+    @Test
+    public void FromSortedArrayTest() {
+        assertNull(BinaryTreeAlgorithms.fromSorted(new int[0]));
+        for (int n = 1; n <= 300; n++) {
+            int[] values = new int[n];
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                values[i] = i * 3 - 100;
+                expected.add(values[i]);
+            }
+            BinaryNode<Integer> root = BinaryTreeAlgorithms.fromSorted(values);
+            assertEquals(expected, BinaryTreeAlgorithms.inOrder(root));
+            assertEquals(balancedHeight(n), height(root));
+            assertEquals(BinaryTreeAlgorithms.preOrder(root),
+                    BinaryTreeAlgorithms.preOrder(BinaryTreeAlgorithms.fromSorted(new LinkedList<>(expected))));
+        }
+    }
+
+    @Test
+    public void FromSortedIteratorTest() {
+        assertNull(BinaryTreeAlgorithms.fromSorted(new ArrayList<Integer>().iterator()));
+        for (int n = 1; n <= 1100; n++) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                expected.add(i * 2);
+            }
+            BinaryNode<Integer> root = BinaryTreeAlgorithms.fromSorted(expected.iterator());
+            assertEquals(expected, BinaryTreeAlgorithms.inOrder(root));
+            assertTrue("n = " + n, height(root) <= balancedHeight(n) + 1);
+            if (Integer.bitCount(n + 1) == 1) {
+                // 2^k - 1 values fill a perfect tree exactly
+                assertEquals(balancedHeight(n), height(root));
+            }
+        }
+    }
+
+    @Test
+    public void UnsortedInputTest() {
+        try {
+            BinaryTreeAlgorithms.fromSorted(new int[]{1, 3, 2});
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            BinaryTreeAlgorithms.fromSorted(Arrays.asList(1, 1).iterator());
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package test;
+
+import org.junit.Test;
+import trees.ColumnarTree;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class ColumnarTreeTest {
+    @Test
+    public void MatchesTreeAlgorithmsTest() {
+        Random random = new Random(143);
+        List<TreeNode<Integer>> nodes = new ArrayList<>();
+        nodes.add(new TreeNode<>(random.nextInt()));
+        for (int i = 1; i < 5_000; i++) {
+            TreeNode<Integer> child = new TreeNode<>(random.nextInt());
+            nodes.get(random.nextInt(i)).addChild(child);
+            nodes.add(child);
+        }
+        TreeNode<Integer> root = nodes.get(0);
+        ColumnarTree frozen = ColumnarTree.freeze(root);
+
+        assertEquals(TreeAlgorithms.count(root), frozen.count());
+        assertEquals(TreeAlgorithms.max(root), frozen.max());
+        assertEquals(TreeAlgorithms.min(root), frozen.min());
+        assertEquals(TreeAlgorithms.leaves(root).size(), frozen.leafCount());
+        LinkedList<Integer> bfs = TreeAlgorithms.bfs(root);
+        int[] columnar = frozen.bfs();
+        assertEquals(bfs.size(), columnar.length);
+        int i = 0;
+        for (Integer value : bfs) {
+            assertEquals((int) value, columnar[i++]);
+        }
+        for (int leaf : frozen.leaves()) {
+            assertEquals(0, frozen.childCount(leaf));
+        }
+    }
+
+    @Test
+    public void LayoutTest() {
+        //           5
+        //        /  |  \
+        //       3   9   1      1 has a null children list
+        //      / \
+        //     7   2
+        TreeNode<Integer> root = new TreeNode<>(5);
+        TreeNode<Integer> three = new TreeNode<>(3);
+        root.addChild(three);
+        root.addChild(new TreeNode<>(9));
+        root.addChild(new TreeNode<>(1, null));
+        three.addChild(new TreeNode<>(7));
+        three.addChild(new TreeNode<>(2));
+        ColumnarTree frozen = ColumnarTree.freeze(root);
+
+        assertEquals(1, frozen.firstChild(0));
+        assertEquals(3, frozen.childCount(0));
+        assertEquals(4, frozen.firstChild(1));
+        assertEquals(7, frozen.payload(frozen.firstChild(1)));
+        assertEquals(2, frozen.payload(frozen.firstChild(1) + 1));
+        assertEquals(0, frozen.childCount(3));
+        assertEquals(4, frozen.leafCount());
+        assertEquals(9, (int) frozen.max());
+        assertEquals(1, (int) frozen.min());
+
+        ColumnarTree empty = ColumnarTree.freeze(null);
+        assertEquals(0, empty.count());
+        assertNull(empty.max());
+        assertNull(empty.min());
+        assertEquals(0, empty.leaves().length);
+        try {
+            ColumnarTree.freeze(new TreeNode<Integer>(null));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
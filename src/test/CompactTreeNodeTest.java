@@ -0,0 +1,109 @@
+package test;
+
+import org.junit.Test;
+import trees.CompactTreeNode;
+import trees.TreeAlgorithms;
+import trees.TreeBuilder;
+import trees.TreeNode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class CompactTreeNodeTest {
+    @Test
+    public void BehavesLikeTreeNodeTest() {
+        Random random = new Random(143);
+        List<TreeNode<Integer>> plain = new ArrayList<>();
+        List<TreeNode<Integer>> compact = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int value = random.nextInt();
+            plain.add(new TreeNode<>(value));
+            compact.add(new CompactTreeNode<>(value));
+            if (i > 0) {
+                int parent = random.nextInt(i);
+                assertEquals(plain.get(parent).addChild(plain.get(i)), compact.get(parent).addChild(compact.get(i)));
+            }
+        }
+        TreeNode<Integer> a = plain.get(0);
+        TreeNode<Integer> b = compact.get(0);
+        assertTrue(TreeAlgorithms.equals(a, b));
+        assertEquals(TreeAlgorithms.max(a), TreeAlgorithms.max(b));
+        assertEquals(TreeAlgorithms.min(a), TreeAlgorithms.min(b));
+        assertEquals(TreeAlgorithms.count(a), TreeAlgorithms.count(b));
+        assertEquals(TreeAlgorithms.depth(a), TreeAlgorithms.depth(b));
+        assertEquals(TreeAlgorithms.bfs(a), TreeAlgorithms.bfs(b));
+        assertEquals(TreeAlgorithms.leaves(a).size(), TreeAlgorithms.leaves(b).size());
+        assertEquals(TreeAlgorithms.hash(a), TreeAlgorithms.hash(b));
+        assertEquals(TreeAlgorithms.path(a, plain.get(1_999).payload).size(),
+                TreeAlgorithms.path(b, compact.get(1_999).payload).size());
+    }
+
+    @Test
+    public void SharedLeafListTest() {
+        CompactTreeNode<Integer> leaf = new CompactTreeNode<>(1);
+        CompactTreeNode<Integer> other = new CompactTreeNode<>(2);
+        assertSame(leaf.children, other.children);
+        assertEquals(0, leaf.children.size());
+        try {
+            leaf.children.add(other);
+            fail();
+        } catch (UnsupportedOperationException expected) {
+        }
+        // addChild gives the node a list of its own and leaves the shared one empty
+        assertEquals(0, leaf.addChild(other));
+        assertSame(other, leaf.getChild(0));
+        assertNotSame(leaf.children, other.children);
+        assertEquals(0, other.children.size());
+        assertEquals(0, new CompactTreeNode<Integer>(3).children.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void SerializedLeafListTest() throws IOException, ClassNotFoundException {
+        CompactTreeNode<Integer> leaf = new CompactTreeNode<>(1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(leaf.children);
+        }
+        CompactTreeNode<Integer> copy = new CompactTreeNode<>(2);
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy.children = (ArrayList<TreeNode<Integer>>) in.readObject();
+        }
+        // Reading the list back yields the shared sentinel, so addChild still replaces it
+        assertSame(leaf.children, copy.children);
+        assertEquals(0, copy.addChild(new TreeNode<>(3)));
+        assertEquals(0, leaf.children.size());
+    }
+
+    @Test
+    public void CompactExistingTreeTest() {
+        //        1
+        //       / \
+        //      2   3      3 has a null children list
+        TreeNode<Integer> root = new TreeNode<>(1);
+        TreeNode<Integer> two = new TreeNode<>(2);
+        TreeNode<Integer> three = new TreeNode<>(3, null);
+        root.addChild(two);
+        root.addChild(three);
+        List<Integer> before = TreeAlgorithms.bfs(root);
+        CompactTreeNode.compact(root);
+        assertSame(two.children, three.children);
+        assertEquals(before, TreeAlgorithms.bfs(root));
+        // Compacted leaves can still grow
+        two.addChild(new TreeNode<>(4));
+        assertEquals(4, (int) TreeAlgorithms.max(root));
+        CompactTreeNode.compact(null);
+
+        // The builder already shares the leaf list
+        TreeNode<Integer> built = TreeBuilder.fromParentArray(new int[]{-1, 0, 0}, new int[]{1, 2, 3});
+        assertSame(built.getChild(0).children, built.getChild(1).children);
+    }
+}
@@ -0,0 +1,106 @@
+package test;
+
+import org.junit.Test;
+import trees.ConcurrentBinarySearchTree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static junit.framework.TestCase.*;
+
+public class ConcurrentBinarySearchTreeTest {
+    @Test
+    public void SingleThreadTest() {
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree();
+        assertNull(tree.binarySearch(5));
+        ConcurrentBinarySearchTree.Node node = tree.insert(50);
+        assertSame(node, tree.insert(50));
+        tree.insert(25);
+        tree.insert(75);
+        assertEquals(Integer.valueOf(25), tree.getRoot().getLeft().payload);
+        assertEquals(3, tree.size());
+        assertFalse(tree.contains(30));
+    }
+
+    @Test
+    public void StressTest() throws InterruptedException {
+        final int writers = 4;
+        final int readers = 4;
+        final int keys = 40_000;
+        ConcurrentBinarySearchTree tree = new ConcurrentBinarySearchTree();
+        // published[k] is set once some writer's insert of k has returned
+        AtomicIntegerArray published = new AtomicIntegerArray(keys);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            final long seed = w;
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                Random random = new Random(seed);
+                // Every writer inserts every key, in its own order, so slots are fought over
+                for (int i = 0; i < keys; i++) {
+                    int key = random.nextInt(keys);
+                    if (tree.insert(key).payload != key) {
+                        failures.incrementAndGet();
+                    }
+                    published.set(key, 1);
+                }
+                for (int key = 0; key < keys; key++) {
+                    tree.insert(key);
+                    published.set(key, 1);
+                }
+            }));
+        }
+        for (int r = 0; r < readers; r++) {
+            final long seed = 100 + r;
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                Random random = new Random(seed);
+                while (!done.get()) {
+                    int key = random.nextInt(keys);
+                    boolean wasPublished = published.get(key) == 1;
+                    // Once an insert has returned, every later search must see it
+                    if (wasPublished && !tree.contains(key)) {
+                        failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (int i = 0; i < writers; i++) {
+            threads.get(i).join();
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+        assertEquals(keys, tree.size());
+        List<Integer> inOrder = tree.inOrder();
+        assertEquals(keys, inOrder.size());
+        for (int key = 0; key < keys; key++) {
+            assertEquals(Integer.valueOf(key), inOrder.get(key));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
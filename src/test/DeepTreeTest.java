@@ -0,0 +1,88 @@
+package test;
+
+import org.junit.Test;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import static junit.framework.TestCase.*;
+
+public class DeepTreeTest {
+    private static final int DEPTH = 1_000_000;
+
+    // 0 -> 1 -> 2 -> ... -> DEPTH - 1, with a side leaf -1 hanging off the root
+    private static TreeNode<Integer> chain() {
+        TreeNode<Integer> root = new TreeNode<>(0);
+        TreeNode<Integer> current = root;
+        for (int i = 1; i < DEPTH; i++) {
+            TreeNode<Integer> child = new TreeNode<>(i, null); // null children list on purpose
+            current.addChild(child);
+            current = child;
+        }
+        root.addChild(new TreeNode<>(-1));
+        return root;
+    }
+
+    @Test
+    public void MillionDeepChainTest() {
+        TreeNode<Integer> root = chain();
+        assertEquals(DEPTH - 1, (int) TreeAlgorithms.max(root));
+        assertEquals(-1, (int) TreeAlgorithms.min(root));
+        assertEquals(DEPTH + 1, TreeAlgorithms.count(root));
+        assertEquals(DEPTH - 1, TreeAlgorithms.depth(root));
+
+        LinkedList<TreeNode<Integer>> leaves = TreeAlgorithms.leaves(root);
+        assertEquals(2, leaves.size());
+        assertEquals(DEPTH - 1, (int) leaves.get(0).payload);
+        assertEquals(-1, (int) leaves.get(1).payload);
+
+        LinkedList<TreeNode<Integer>> path = TreeAlgorithms.path(root, DEPTH - 1);
+        assertEquals(DEPTH, path.size());
+        assertSame(root, path.getFirst());
+        assertEquals(DEPTH - 1, (int) path.getLast().payload);
+        assertEquals(2, TreeAlgorithms.path(root, -1).size());
+        assertTrue(TreeAlgorithms.path(root, DEPTH).isEmpty());
+
+        assertTrue(TreeAlgorithms.equals(root, chain()));
+        assertEquals(DEPTH + 1, TreeAlgorithms.bfs(root).size());
+    }
+
+    @Test
+    public void SameResultsTest() {
+        //           10
+        //        /   |   \
+        //       4    20    7
+        //      / \         |
+        //     1   30       -5
+        TreeNode<Integer> root = new TreeNode<>(10);
+        TreeNode<Integer> four = new TreeNode<>(4);
+        TreeNode<Integer> seven = new TreeNode<>(7);
+        root.addChild(four);
+        root.addChild(new TreeNode<>(20));
+        root.addChild(seven);
+        four.addChild(new TreeNode<>(1));
+        four.addChild(new TreeNode<>(30));
+        seven.addChild(new TreeNode<>(-5));
+
+        assertEquals(30, (int) TreeAlgorithms.max(root));
+        assertEquals(-5, (int) TreeAlgorithms.min(root));
+        assertEquals(7, TreeAlgorithms.count(root));
+        assertEquals(2, TreeAlgorithms.depth(root));
+        ArrayList<Integer> leaves = new ArrayList<>();
+        for (TreeNode<Integer> leaf : TreeAlgorithms.leaves(root)) {
+            leaves.add(leaf.payload);
+        }
+        assertEquals(Arrays.asList(1, 30, 20, -5), leaves);
+        LinkedList<TreeNode<Integer>> path = TreeAlgorithms.path(root, -5);
+        assertEquals(Arrays.asList(root, seven, seven.getChild(0)), path);
+        // Large values are matched with equals, not by reference
+        four.getChild(1).payload = 1_000_000;
+        assertEquals(3, TreeAlgorithms.path(root, Integer.valueOf(1_000_000)).size());
+        assertEquals(0, TreeAlgorithms.depth(new TreeNode<>(1)));
+        assertNull(TreeAlgorithms.max(null));
+        assertEquals(0, TreeAlgorithms.count(null));
+    }
+}
@@ -0,0 +1,135 @@
+package test;
+
+import org.junit.Test;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static junit.framework.TestCase.*;
+
+public class DeleteTest {
+    private static int height(BinaryNode<Integer> node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private static BinaryNode<Integer> randomTree(Random random, int n, TreeSet<Integer> expected) {
+        BinaryNode<Integer> root = null;
+        for (int i = 0; i < n; i++) {
+            int value = random.nextInt(4 * n);
+            expected.add(value);
+            if (root == null) {
+                root = BinaryTreeAlgorithms.insert(null, value);
+            } else {
+                BinaryTreeAlgorithms.insert(root, value);
+            }
+        }
+        return root;
+    }
+
+    @Test
+    public void DeleteMatchesTreeSetTest() {
+        Random random = new Random(143);
+        TreeSet<Integer> expected = new TreeSet<>();
+        BinaryNode<Integer> root = randomTree(random, 2_000, expected);
+        for (int i = 0; i < 3_000; i++) {
+            int value = random.nextInt(8_000);
+            expected.remove(value);
+            root = BinaryTreeAlgorithms.delete(root, value);
+        }
+        assertEquals(new ArrayList<>(expected), BinaryTreeAlgorithms.inOrder(root));
+
+        //           4
+        //          / \
+        //         2   6
+        //            / \
+        //           5   7
+        root = BinaryTreeAlgorithms.fromSorted(new int[]{2, 4, 5, 6, 7});
+        BinaryNode<Integer> five = BinaryTreeAlgorithms.binarySearch(root, 5);
+        // Removing the root promotes its successor node rather than copying the value
+        root = BinaryTreeAlgorithms.delete(root, 4);
+        assertSame(five, root);
+        assertEquals(Arrays.asList(2, 5, 6, 7), BinaryTreeAlgorithms.inOrder(root));
+        assertSame(root, BinaryTreeAlgorithms.delete(root, 42));
+
+        BinaryNode<Integer> single = new BinaryNode<>(1);
+        assertNull(BinaryTreeAlgorithms.delete(single, 1));
+        assertNull(BinaryTreeAlgorithms.delete(null, 1));
+    }
+
+    @Test
+    public void DeleteAllTest() {
+        Random random = new Random(143);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> expected = new TreeSet<>();
+            BinaryNode<Integer> root = randomTree(random, 500, expected);
+            List<Integer> doomed = new ArrayList<>();
+            for (int i = 0; i < round * 40; i++) {
+                doomed.add(random.nextInt(2_000)); // includes repeats and values not in the tree
+            }
+            expected.removeAll(doomed);
+            root = BinaryTreeAlgorithms.deleteAll(root, doomed);
+            List<Integer> actual = BinaryTreeAlgorithms.inOrder(root);
+            assertEquals(new ArrayList<>(expected), actual == null ? new ArrayList<Integer>() : actual);
+        }
+
+        BinaryNode<Integer> root = BinaryTreeAlgorithms.fromSorted(new int[]{1, 2, 3});
+        assertNull(BinaryTreeAlgorithms.deleteAll(root, Arrays.asList(3, 1, 2)));
+    }
+
+    @Test
+    public void DeepChainTest() {
+        // A sorted insert order gives a 100k deep chain
+        BinaryNode<Integer> root = new BinaryNode<>(0);
+        BinaryNode<Integer> current = root;
+        List<Integer> evens = new ArrayList<>();
+        for (int i = 1; i < 100_000; i++) {
+            current.right = new BinaryNode<>(i);
+            current = current.right;
+            if (i % 2 == 0) {
+                evens.add(i);
+            }
+        }
+        root = BinaryTreeAlgorithms.deleteAll(root, evens);
+        assertEquals(0, (int) root.payload);
+        assertEquals(50_001, BinaryTreeAlgorithms.inOrder(root).size());
+
+        root = BinaryTreeAlgorithms.rebalance(root, 0.75);
+        assertTrue(height(root) <= 30);
+        List<Integer> values = BinaryTreeAlgorithms.inOrder(root);
+        assertEquals(50_001, values.size());
+        assertEquals(0, (int) values.get(0));
+        assertEquals(99_999, (int) values.get(values.size() - 1));
+    }
+
+    @Test
+    public void RebalanceTest() {
+        BinaryNode<Integer> root = BinaryTreeAlgorithms.fromSorted(new int[]{1, 2, 3, 4, 5, 6, 7});
+        // An already balanced tree is left exactly as it was
+        BinaryNode<Integer> two = root.left;
+        assertSame(root, BinaryTreeAlgorithms.rebalance(root, 0.6));
+        assertSame(two, root.left);
+
+        // Only the lopsided subtree is rebuilt: hang a chain of 6 under 7
+        BinaryNode<Integer> current = BinaryTreeAlgorithms.binarySearch(root, 7);
+        for (int value = 8; value < 14; value++) {
+            current.right = new BinaryNode<>(value);
+            current = current.right;
+        }
+        root = BinaryTreeAlgorithms.rebalance(root, 0.7);
+        assertSame(two, root.left);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13), BinaryTreeAlgorithms.inOrder(root));
+        assertTrue(height(root) <= 5);
+
+        assertNull(BinaryTreeAlgorithms.rebalance(null, 0.7));
+        try {
+            BinaryTreeAlgorithms.rebalance(root, 0.5);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
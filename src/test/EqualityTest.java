@@ -0,0 +1,130 @@
+package test;
+
+import org.junit.Test;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import static junit.framework.TestCase.*;
+
+public class EqualityTest {
+    private static BinaryNode<Integer> binary() {
+        return new BinaryNode<>(500,
+                new BinaryNode<>(250, null, new BinaryNode<>(300)),
+                new BinaryNode<>(750));
+    }
+
+    private static TreeNode<Integer> tree() {
+        TreeNode<Integer> root = new TreeNode<>(1000);
+        root.addChild(new TreeNode<>(2000));
+        root.addChild(new TreeNode<>(3000));
+        root.getChild(1).addChild(new TreeNode<>(4000));
+        return root;
+    }
+
+    @Test
+    public void BinaryEqualsTest() {
+        // Payloads above the Integer cache are distinct objects, so == would fail here
+        assertTrue(BinaryTreeAlgorithms.equals(binary(), binary()));
+
+        BinaryNode<Integer> other = binary();
+        other.left.right = null;
+        other.left.left = new BinaryNode<>(300);
+        assertFalse(BinaryTreeAlgorithms.equals(binary(), other));
+
+        // A mismatch only in the left subtree must not be hidden by a matching right subtree
+        other = binary();
+        other.left.right.payload = 301;
+        assertFalse(BinaryTreeAlgorithms.equals(binary(), other));
+
+        assertTrue(BinaryTreeAlgorithms.equals((BinaryNode<Integer>) null, null));
+        assertFalse(BinaryTreeAlgorithms.equals(binary(), null));
+    }
+
+    @Test
+    public void TreeEqualsTest() {
+        assertTrue(TreeAlgorithms.equals(tree(), tree()));
+
+        // Only the second child differs
+        TreeNode<Integer> other = tree();
+        other.getChild(1).getChild(0).payload = 4001;
+        assertFalse(TreeAlgorithms.equals(tree(), other));
+
+        other = tree();
+        other.getChild(1).children = null;
+        TreeNode<Integer> expected = tree();
+        expected.getChild(1).children.clear();
+        assertTrue(TreeAlgorithms.equals(expected, other));
+    }
+
+    @Test
+    public void CachedHashTest() {
+        BinaryNode<Integer> a = binary();
+        BinaryNode<Integer> b = binary();
+        assertEquals(BinaryTreeAlgorithms.hash(a), BinaryTreeAlgorithms.hash(b));
+        assertTrue(BinaryTreeAlgorithms.equals(a, b));
+
+        b.right.payload = 751;
+        assertTrue(BinaryTreeAlgorithms.hash(a) != BinaryTreeAlgorithms.hash(b));
+        assertFalse(BinaryTreeAlgorithms.equals(a, b));
+        assertFalse(BinaryTreeAlgorithms.equals(a, b, true));
+        b.right.payload = 750;
+        BinaryTreeAlgorithms.hash(b);
+        assertTrue(BinaryTreeAlgorithms.equals(a, b, true));
+
+        TreeNode<Integer> c = tree();
+        TreeNode<Integer> d = tree();
+        assertEquals(TreeAlgorithms.hash(c), TreeAlgorithms.hash(d));
+        assertTrue(TreeAlgorithms.equals(c, d));
+        d.getChild(0).payload = 2001;
+        assertTrue(TreeAlgorithms.hash(c) != TreeAlgorithms.hash(d));
+        assertFalse(TreeAlgorithms.equals(c, d));
+        assertFalse(TreeAlgorithms.equals(c, d, true));
+        assertEquals(0, TreeAlgorithms.hash(null));
+    }
+
+    @Test
+    public void StaleHashTest() {
+        // Changing a tree after hashing it leaves its cached hashes stale
+        BinaryNode<Integer> x = new BinaryNode<>(5);
+        BinaryTreeAlgorithms.insert(x, 3);
+        BinaryTreeAlgorithms.hash(x);
+        BinaryTreeAlgorithms.insert(x, 7);
+        BinaryNode<Integer> y = new BinaryNode<>(5);
+        BinaryTreeAlgorithms.insert(y, 3);
+        BinaryTreeAlgorithms.insert(y, 7);
+        BinaryTreeAlgorithms.hash(y);
+        assertTrue(BinaryTreeAlgorithms.equals(x, y));
+        BinaryTreeAlgorithms.hash(x);
+        assertTrue(BinaryTreeAlgorithms.equals(x, y, true));
+
+        TreeNode<Integer> p = new TreeNode<>(1);
+        p.addChild(new TreeNode<>(2));
+        TreeNode<Integer> q = new TreeNode<>(1);
+        TreeAlgorithms.hash(q);
+        q.addChild(new TreeNode<>(2));
+        assertTrue(TreeAlgorithms.equals(p, q));
+        TreeAlgorithms.hash(p);
+        TreeAlgorithms.hash(q);
+        assertTrue(TreeAlgorithms.equals(p, q, true));
+    }
+
+    @Test
+    public void DeepTreeTest() {
+        BinaryNode<Integer> a = new BinaryNode<>(0);
+        BinaryNode<Integer> b = new BinaryNode<>(0);
+        BinaryNode<Integer> x = a;
+        BinaryNode<Integer> y = b;
+        for (int i = 1; i < 100_000; i++) {
+            x.left = new BinaryNode<>(i);
+            y.left = new BinaryNode<>(i);
+            x = x.left;
+            y = y.left;
+        }
+        assertTrue(BinaryTreeAlgorithms.equals(a, b));
+        assertEquals(BinaryTreeAlgorithms.hash(a), BinaryTreeAlgorithms.hash(b));
+        y.payload = -1;
+        assertFalse(BinaryTreeAlgorithms.equals(a, b));
+    }
+}
@@ -0,0 +1,63 @@
+package test;
+
+import org.junit.Test;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.EytzingerTree;
+
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class EytzingerTreeTest {
+    @Test
+    public void MatchesBinarySearchTest() {
+        Random random = new Random(143);
+        // Every size up to a few full levels, so both complete and ragged bottom levels are covered
+        for (int n = 1; n <= 70; n++) {
+            BinaryNode<Integer> root = null;
+            for (int i = 0; i < n; i++) {
+                int value = random.nextInt(200) - 100;
+                if (root == null) {
+                    root = BinaryTreeAlgorithms.insert(null, value);
+                } else {
+                    BinaryTreeAlgorithms.insert(root, value);
+                }
+            }
+            EytzingerTree frozen = EytzingerTree.freeze(root);
+            assertEquals(BinaryTreeAlgorithms.inOrder(root).size(), frozen.size());
+            for (int value = -105; value <= 105; value++) {
+                // Same node, not just an equal value
+                assertSame(BinaryTreeAlgorithms.binarySearch(root, value), frozen.binarySearch(value));
+            }
+        }
+    }
+
+    @Test
+    public void EdgeCaseTest() {
+        EytzingerTree empty = EytzingerTree.freeze(null);
+        assertEquals(0, empty.size());
+        assertEquals(EytzingerTree.NONE, empty.indexOf(0));
+        assertNull(empty.binarySearch(0));
+
+        BinaryNode<Integer> root = BinaryTreeAlgorithms.insert(null, Integer.MAX_VALUE);
+        BinaryTreeAlgorithms.insert(root, Integer.MIN_VALUE);
+        EytzingerTree frozen = EytzingerTree.freeze(root);
+        assertTrue(frozen.contains(Integer.MAX_VALUE));
+        assertTrue(frozen.contains(Integer.MIN_VALUE));
+        assertFalse(frozen.contains(0));
+        assertEquals(Integer.MIN_VALUE, frozen.key(frozen.indexOf(Integer.MIN_VALUE)));
+
+        //           5
+        //          / \
+        //         7   3       not a binary search tree
+        BinaryNode<Integer> bad = new BinaryNode<>(5);
+        bad.left = new BinaryNode<>(7);
+        bad.right = new BinaryNode<>(3);
+        try {
+            EytzingerTree.freeze(bad);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
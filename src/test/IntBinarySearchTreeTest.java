@@ -0,0 +1,62 @@
+package test;
+
+import org.junit.Test;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.IntBinarySearchTree;
+
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class IntBinarySearchTreeTest {
+    @Test
+    public void MatchesBoxedTreeTest() {
+        Random random = new Random(143);
+        IntBinarySearchTree tree = new IntBinarySearchTree(4);
+        BinaryNode<Integer> boxed = null;
+        for (int i = 0; i < 10_000; i++) {
+            int value = random.nextInt(20_000) - 10_000;
+            int node = tree.insert(value);
+            assertEquals(value, tree.key(node));
+            if (boxed == null) {
+                boxed = BinaryTreeAlgorithms.insert(null, value);
+            } else {
+                BinaryTreeAlgorithms.insert(boxed, value);
+            }
+        }
+
+        List<Integer> expected = BinaryTreeAlgorithms.inOrder(boxed);
+        int[] actual = tree.inOrder();
+        assertEquals(expected.size(), tree.size());
+        for (int i = 0; i < actual.length; i++) {
+            assertEquals((int) expected.get(i), actual[i]);
+        }
+
+        for (int value = -10_050; value < 10_050; value += 7) {
+            assertEquals(BinaryTreeAlgorithms.binarySearch(boxed, value) != null, tree.contains(value));
+        }
+    }
+
+    @Test
+    public void InsertTest() {
+        IntBinarySearchTree tree = new IntBinarySearchTree();
+        assertEquals(IntBinarySearchTree.NONE, tree.binarySearch(5));
+        assertEquals(0, tree.inOrder().length);
+
+        int root = tree.insert(50);
+        assertEquals(root, tree.insert(50));
+        int node = tree.insert(25);
+        assertEquals(node, tree.binarySearch(25));
+        assertEquals(2, tree.size());
+
+        // Sorted input degenerates into a chain, which must not overflow anything
+        IntBinarySearchTree chain = new IntBinarySearchTree();
+        for (int i = 0; i < 20_000; i++) {
+            chain.insert(i);
+        }
+        chain.trimToSize();
+        assertEquals(19_999, chain.inOrder()[19_999]);
+    }
+}
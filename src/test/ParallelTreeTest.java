@@ -0,0 +1,66 @@
+package test;
+
+import org.junit.Test;
+import trees.ParallelTreeAlgorithms;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static junit.framework.TestCase.*;
+
+public class ParallelTreeTest {
+    private static TreeNode<Integer> randomTree(int nodes, long seed) {
+        Random random = new Random(seed);
+        ArrayList<TreeNode<Integer>> all = new ArrayList<>();
+        all.add(new TreeNode<>(random.nextInt(1000) - 500));
+        for (int i = 1; i < nodes; i++) {
+            TreeNode<Integer> child = new TreeNode<>(random.nextInt(1000) - 500);
+            all.get(random.nextInt(i)).addChild(child);
+            all.add(child);
+        }
+        return all.get(0);
+    }
+
+    @Test
+    public void MatchesSequentialTest() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int seed = 0; seed < 5; seed++) {
+            TreeNode<Integer> tree = randomTree(5_000, seed);
+            // A tiny threshold forces lots of splitting
+            for (int threshold : new int[]{1, 7, 100_000}) {
+                assertEquals(TreeAlgorithms.max(tree), ParallelTreeAlgorithms.max(tree, pool, threshold));
+                assertEquals(TreeAlgorithms.min(tree), ParallelTreeAlgorithms.min(tree, pool, threshold));
+                assertEquals(TreeAlgorithms.count(tree), ParallelTreeAlgorithms.count(tree, pool, threshold));
+                assertEquals(TreeAlgorithms.depth(tree), ParallelTreeAlgorithms.depth(tree, pool, threshold));
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void EdgeCaseTest() {
+        assertNull(ParallelTreeAlgorithms.max(null));
+        assertNull(ParallelTreeAlgorithms.min(null));
+        assertEquals(0, ParallelTreeAlgorithms.count(null));
+        assertEquals(0, ParallelTreeAlgorithms.depth(null));
+
+        TreeNode<Integer> single = new TreeNode<>(7);
+        assertEquals(Integer.valueOf(7), ParallelTreeAlgorithms.max(single));
+        assertEquals(1, ParallelTreeAlgorithms.count(single));
+        assertEquals(0, ParallelTreeAlgorithms.depth(single));
+
+        // A chain far deeper than the recursive versions can handle
+        TreeNode<Integer> chain = new TreeNode<>(0);
+        TreeNode<Integer> current = chain;
+        for (int i = 1; i < 100_000; i++) {
+            current.addChild(new TreeNode<>(i));
+            current = current.getChild(0);
+        }
+        assertEquals(Integer.valueOf(99_999), ParallelTreeAlgorithms.max(chain));
+        assertEquals(100_000, ParallelTreeAlgorithms.count(chain));
+        assertEquals(99_999, ParallelTreeAlgorithms.depth(chain));
+    }
+}
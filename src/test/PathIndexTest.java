@@ -0,0 +1,184 @@
+package test;
+
+import org.junit.Test;
+import trees.BinaryNode;
+import trees.BinaryPathIndex;
+import trees.BinarySearchTreeIndex;
+import trees.BinaryTreeAlgorithms;
+import trees.TreeAlgorithms;
+import trees.TreeNode;
+import trees.TreeNodeIndex;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class PathIndexTest {
+    private static BinaryNode<Integer> randomTree(int nodes, Random random) {
+        BinaryNode<Integer> root = new BinaryNode<>(0);
+        for (int i = 1; i < nodes; i++) {
+            // Drop each node in at a random free slot, so the tree is not a BST
+            BinaryNode<Integer> current = root;
+            while (true) {
+                if (random.nextBoolean()) {
+                    if (current.left == null) { current.left = new BinaryNode<>(i); break; }
+                    current = current.left;
+                } else {
+                    if (current.right == null) { current.right = new BinaryNode<>(i); break; }
+                    current = current.right;
+                }
+            }
+        }
+        return root;
+    }
+
+    @Test
+    public void IndexMatchesPathTest() {
+        Random random = new Random(143);
+        BinaryNode<Integer> root = randomTree(2_000, random);
+        BinaryPathIndex<Integer> index = new BinaryPathIndex<>(root);
+        for (int value = 0; value < 2_000; value++) {
+            assertEquals(BinaryTreeAlgorithms.path(root, value), index.path(value));
+        }
+        assertNull(index.path(5_000));
+        assertNull(BinaryTreeAlgorithms.path(root, 5_000));
+        assertEquals(new LinkedList<>(), index.path(0));
+        assertFalse(new BinaryPathIndex<Integer>(null).contains(0));
+    }
+
+    @Test
+    public void LargeValuesAndDeepTreesTest() {
+        // Values above the Integer cache must still be found (== would miss them)
+        BinaryNode<Integer> root = new BinaryNode<>(1000, new BinaryNode<>(2000), new BinaryNode<>(3000));
+        assertEquals(new LinkedList<>(Arrays.asList(BinaryNode.Direction.right)),
+                BinaryTreeAlgorithms.path(root, Integer.valueOf(3000)));
+
+        // A left chain deeper than the call stack allows
+        BinaryNode<Integer> chain = new BinaryNode<>(0);
+        BinaryNode<Integer> current = chain;
+        for (int i = 1; i < 100_000; i++) {
+            current.left = new BinaryNode<>(i);
+            current = current.left;
+        }
+        assertEquals(99_999, BinaryTreeAlgorithms.path(chain, 99_999).size());
+        assertEquals(99_999, new BinaryPathIndex<>(chain).path(99_999).size());
+    }
+
+    @Test
+    public void BinarySearchTreeIndexTest() {
+        Random random = new Random(143);
+        BinaryNode<Integer> root = BinaryTreeAlgorithms.insert(null, 0);
+        for (int i = 0; i < 1_000; i++) {
+            BinaryTreeAlgorithms.insert(root, random.nextInt(1_000_000) - 500_000);
+        }
+        BinarySearchTreeIndex index = new BinarySearchTreeIndex(root);
+        // Keep inserting through the index; both halves must stay in sync
+        for (int i = 0; i < 1_000; i++) {
+            int value = random.nextInt(1_000_000) - 500_000;
+            BinaryNode<Integer> existing = BinaryTreeAlgorithms.binarySearch(root, value);
+            BinaryNode<Integer> node = index.insert(value);
+            if (existing != null) {
+                assertSame(existing, node);
+            }
+            assertSame(node, BinaryTreeAlgorithms.binarySearch(root, value));
+        }
+        assertEquals(BinaryTreeAlgorithms.inOrder(root).size(), index.size());
+        for (int value : BinaryTreeAlgorithms.inOrder(root)) {
+            // Almost all values are outside the Integer cache, so == on payloads would not match
+            Integer boxed = value;
+            assertSame(BinaryTreeAlgorithms.binarySearch(root, boxed), index.binarySearch(boxed));
+            assertEquals(BinaryTreeAlgorithms.path(root, boxed), index.path(boxed));
+        }
+        assertNull(index.path(600_000));
+        assertFalse(index.contains(600_000));
+
+        BinarySearchTreeIndex empty = new BinarySearchTreeIndex(null);
+        BinaryNode<Integer> first = empty.insert(5);
+        assertSame(first, empty.getRoot());
+        assertEquals(new LinkedList<>(), empty.path(5));
+        empty.insert(3);
+        assertEquals(new LinkedList<>(Arrays.asList(BinaryNode.Direction.left)), empty.path(3));
+    }
+
+    @Test
+    public void TreeNodeIndexTest() {
+        //           1000
+        //          /    \
+        //       2000    3000
+        //        |
+        //       3000      (duplicate; the first in pre-order wins)
+        TreeNode<Integer> root = new TreeNode<>(1000);
+        TreeNode<Integer> left = new TreeNode<>(2000);
+        root.addChild(left);
+        root.addChild(new TreeNode<>(3000));
+        left.addChild(new TreeNode<>(3000));
+        TreeNodeIndex<Integer> index = new TreeNodeIndex<>(root);
+        assertEquals(4, index.size());
+        assertEquals(TreeAlgorithms.path(root, 3000), index.path(3000));
+        assertSame(left.getChild(0), index.find(3000));
+        assertSame(left, index.parent(left.getChild(0)));
+        assertTrue(index.path(42).isEmpty());
+
+        // Appending a subtree through the index keeps lookups and paths current
+        TreeNode<Integer> branch = new TreeNode<>(4000);
+        branch.addChild(new TreeNode<>(5000));
+        assertEquals(2, index.addChild(root, branch));
+        assertEquals(TreeAlgorithms.path(root, 5000), index.path(5000));
+        assertEquals(3, index.path(5000).size());
+        assertSame(left.getChild(0), index.find(3000));
+        try {
+            index.addChild(new TreeNode<>(1), new TreeNode<>(2));
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            index.addChild(root, branch);
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // A new subtree holding an indexed node, or the same node twice, is rejected before the
+        // tree or index changes
+        TreeNode<Integer> shared = new TreeNode<>(6000);
+        shared.addChild(new TreeNode<>(7000));
+        shared.addChild(left);
+        TreeNode<Integer> twice = new TreeNode<>(8000);
+        TreeNode<Integer> repeated = new TreeNode<>(9000);
+        twice.addChild(repeated);
+        twice.addChild(repeated);
+        for (TreeNode<Integer> bad : Arrays.asList(shared, twice)) {
+            try {
+                index.addChild(branch, bad);
+                fail();
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        assertEquals(1, branch.children.size());
+        assertEquals(6, index.size());
+        assertSame(root, index.parent(left));
+        assertFalse(index.contains(7000));
+        assertFalse(index.contains(9000));
+    }
+
+    @Test
+    public void MixedPayloadTreeNodeIndexTest() {
+        // Integer payloads go through the unboxed map and the rest through the HashMap; equals
+        // still tells an Integer from a Long with the same value
+        TreeNode<Object> root = new TreeNode<>("root");
+        TreeNode<Object> integer = new TreeNode<>(5000);
+        TreeNode<Object> longValue = new TreeNode<>(5000L);
+        TreeNode<Object> nothing = new TreeNode<>(null);
+        root.addChild(integer);
+        root.addChild(longValue);
+        integer.addChild(nothing);
+        TreeNodeIndex<Object> index = new TreeNodeIndex<>(root);
+        assertSame(integer, index.find(Integer.valueOf(5000)));
+        assertSame(longValue, index.find(5000L));
+        assertSame(root, index.find("root"));
+        assertEquals(Arrays.asList(root, integer, nothing), index.path(null));
+        assertFalse(index.contains(5001));
+        assertFalse(index.contains((short) 5000));
+    }
+}
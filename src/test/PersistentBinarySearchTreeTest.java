@@ -0,0 +1,72 @@
+package test;
+
+import org.junit.Test;
+import trees.PersistentBinarySearchTree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static junit.framework.TestCase.*;
+
+public class PersistentBinarySearchTreeTest {
+    private static List<Integer> contents(PersistentBinarySearchTree tree) {
+        List<Integer> values = new ArrayList<>();
+        tree.inOrder(values::add);
+        return values;
+    }
+
+    @Test
+    public void SnapshotsAreUnchangedTest() {
+        Random random = new Random(143);
+        PersistentBinarySearchTree tree = PersistentBinarySearchTree.empty();
+        TreeSet<Integer> expected = new TreeSet<>();
+        List<PersistentBinarySearchTree> snapshots = new ArrayList<>();
+        List<List<Integer>> snapshotContents = new ArrayList<>();
+
+        for (int i = 0; i < 5_000; i++) {
+            int value = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                tree = tree.delete(value);
+                expected.remove(value);
+            } else {
+                tree = tree.insert(value);
+                expected.add(value);
+            }
+            if (i % 500 == 0) {
+                snapshots.add(tree);
+                snapshotContents.add(new ArrayList<>(expected));
+            }
+        }
+        assertEquals(new ArrayList<>(expected), contents(tree));
+        assertEquals(expected.size(), tree.size());
+        assertTrue(tree.height() <= 1.45 * Math.log(tree.size() + 2) / Math.log(2));
+
+        // Every older version still sees exactly what it held when it was taken
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertEquals(snapshotContents.get(i), contents(snapshots.get(i)));
+            assertEquals(snapshotContents.get(i).size(), snapshots.get(i).size());
+        }
+    }
+
+    @Test
+    public void StructuralSharingTest() {
+        PersistentBinarySearchTree tree = PersistentBinarySearchTree.empty();
+        for (int i = 0; i < 1_000; i++) {
+            tree = tree.insert(i);
+        }
+        assertSame(tree, tree.insert(500));
+        assertSame(tree, tree.delete(5_000));
+
+        // Inserting on the far right must not copy the left half of the tree
+        PersistentBinarySearchTree bigger = tree.insert(1_000);
+        assertSame(tree.getRoot().left, bigger.getRoot().left);
+        assertTrue(bigger.contains(1_000));
+        assertFalse(tree.contains(1_000));
+
+        PersistentBinarySearchTree single = PersistentBinarySearchTree.empty().insert(1);
+        assertSame(PersistentBinarySearchTree.empty(), single.delete(1));
+        assertEquals(0, PersistentBinarySearchTree.empty().size());
+    }
+}
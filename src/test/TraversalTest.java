@@ -0,0 +1,168 @@
+package test;
+
+import org.junit.Test;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.BinaryTreeIterator;
+import trees.LevelOrder;
+import trees.TreeAlgorithms;
+import trees.TreeIterator;
+import trees.TreeNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static junit.framework.TestCase.*;
+
+public class TraversalTest {
+    /*
+            4
+         2     6
+        1 3   5 7
+    */
+    private static BinaryNode<Integer> smallTree() {
+        return new BinaryNode<>(4,
+                new BinaryNode<>(2, new BinaryNode<>(1), new BinaryNode<>(3)),
+                new BinaryNode<>(6, new BinaryNode<>(5), new BinaryNode<>(7)));
+    }
+
+    private static BinaryNode<Integer> rightChain(int n) {
+        BinaryNode<Integer> root = new BinaryNode<>(0);
+        BinaryNode<Integer> current = root;
+        for (int i = 1; i < n; i++) {
+            current.right = new BinaryNode<>(i);
+            current = current.right;
+        }
+        return root;
+    }
+
+    @Test
+    public void SinkTest() {
+        List<Integer> sink = new ArrayList<>();
+        BinaryTreeAlgorithms.preOrder(smallTree(), sink::add);
+        assertEquals(Arrays.asList(4, 2, 1, 3, 6, 5, 7), sink);
+
+        sink.clear();
+        BinaryTreeAlgorithms.inOrder(smallTree(), sink::add);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7), sink);
+
+        sink.clear();
+        BinaryTreeAlgorithms.postOrder(smallTree(), sink::add);
+        assertEquals(Arrays.asList(1, 3, 2, 5, 7, 6, 4), sink);
+
+        sink.clear();
+        BinaryTreeAlgorithms.inOrder((BinaryNode<Integer>) null, sink::add);
+        assertTrue(sink.isEmpty());
+    }
+
+    @Test
+    public void DegenerateTreeTest() {
+        // Deep enough to overflow the default call stack with a recursive traversal
+        int n = 200_000;
+        BinaryNode<Integer> chain = rightChain(n);
+
+        List<Integer> inOrder = BinaryTreeAlgorithms.inOrder(chain);
+        assertEquals(n, inOrder.size());
+        assertEquals(Integer.valueOf(n - 1), inOrder.get(n - 1));
+
+        List<Integer> preOrder = BinaryTreeAlgorithms.preOrder(chain);
+        assertEquals(inOrder, preOrder);
+
+        List<Integer> postOrder = BinaryTreeAlgorithms.postOrder(chain);
+        assertEquals(Integer.valueOf(n - 1), postOrder.get(0));
+        assertEquals(Integer.valueOf(0), postOrder.get(n - 1));
+    }
+
+    @Test
+    public void BinaryIteratorTest() {
+        for (BinaryTreeIterator.Order order : BinaryTreeIterator.Order.values()) {
+            List<Integer> sink = new ArrayList<>();
+            switch (order) {
+                case preOrder: BinaryTreeAlgorithms.preOrder(smallTree(), sink::add); break;
+                case inOrder: BinaryTreeAlgorithms.inOrder(smallTree(), sink::add); break;
+                default: BinaryTreeAlgorithms.postOrder(smallTree(), sink::add);
+            }
+            assertEquals(sink, BinaryTreeAlgorithms.stream(smallTree(), order).collect(Collectors.toList()));
+        }
+
+        Iterator<Integer> empty = BinaryTreeAlgorithms.iterator(null, BinaryTreeIterator.Order.inOrder);
+        assertFalse(empty.hasNext());
+        try {
+            empty.next();
+            fail();
+        } catch (NoSuchElementException expected) {
+        }
+
+        // Only the first few elements of a huge chain should be touched
+        assertEquals(Arrays.asList(0, 1, 2), BinaryTreeAlgorithms.stream(rightChain(1_000_000),
+                BinaryTreeIterator.Order.preOrder).limit(3).collect(Collectors.toList()));
+    }
+
+    /*
+            1
+        2   3   4
+       5 6      7
+    */
+    @Test
+    public void TreeIteratorTest() {
+        TreeNode<Integer> root = new TreeNode<>(1);
+        root.addChild(new TreeNode<>(2));
+        root.addChild(new TreeNode<>(3));
+        root.addChild(new TreeNode<>(4));
+        root.getChild(0).addChild(new TreeNode<>(5));
+        root.getChild(0).addChild(new TreeNode<>(6));
+        root.getChild(2).addChild(new TreeNode<>(7));
+
+        assertEquals(TreeAlgorithms.bfs(root),
+                TreeAlgorithms.stream(root, TreeIterator.Order.bfs).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(1, 2, 5, 6, 3, 4, 7),
+                TreeAlgorithms.stream(root, TreeIterator.Order.dfs).collect(Collectors.toList()));
+
+        assertEquals(Integer.valueOf(6), TreeAlgorithms.stream(root, TreeIterator.Order.bfs)
+                .filter(v -> v > 5).findFirst().get());
+        assertFalse(TreeAlgorithms.iterator(null, TreeIterator.Order.dfs).hasNext());
+    }
+
+    /*
+            1
+        2   3   4
+       5 6      7
+                  8
+    */
+    @Test
+    public void LevelOrderTest() {
+        TreeNode<Integer> root = new TreeNode<>(1);
+        root.addChild(new TreeNode<>(2));
+        root.addChild(new TreeNode<>(3));
+        root.addChild(new TreeNode<>(4));
+        root.getChild(0).addChild(new TreeNode<>(5));
+        root.getChild(0).addChild(new TreeNode<>(6));
+        root.getChild(2).addChild(new TreeNode<>(7));
+        root.getChild(2).getChild(0).addChild(new TreeNode<>(8));
+        root.getChild(1).children = null;
+
+        List<List<Integer>> levels = new ArrayList<>();
+        TreeAlgorithms.bfsLevels(root, Integer.MAX_VALUE, level -> levels.add(new ArrayList<>(level)));
+        assertEquals(Arrays.asList(Arrays.asList(1), Arrays.asList(2, 3, 4), Arrays.asList(5, 6, 7), Arrays.asList(8)),
+                levels);
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8), TreeAlgorithms.bfs(root));
+
+        // The same walker is reused, with a depth cutoff and primitive batches
+        LevelOrder walker = new LevelOrder();
+        List<String> batches = new ArrayList<>();
+        for (int call = 0; call < 2; call++) {
+            batches.clear();
+            walker.forEachIntLevel(root, 1, (depth, payloads, length) ->
+                    batches.add(depth + ":" + Arrays.toString(Arrays.copyOf(payloads, length))));
+            assertEquals(Arrays.asList("0:[1]", "1:[2, 3, 4]"), batches);
+        }
+
+        levels.clear();
+        walker.forEachLevel((TreeNode<Integer>) null, 3, level -> levels.add(level));
+        assertTrue(levels.isEmpty());
+    }
+}
@@ -0,0 +1,128 @@
+package test;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import trees.TreeAlgorithms;
+import trees.TreeBuilder;
+import trees.TreeNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class TreeBuilderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Path writeRecords(Path file, int[]... records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(12 * records.length);
+        for (int[] record : records) {
+            buffer.putInt(record[0]).putInt(record[1]).putInt(record[2]);
+        }
+        Files.write(file, buffer.array());
+        return file;
+    }
+
+    @Test
+    public void RoundTripTest() throws IOException {
+        Random random = new Random(143);
+        int[] parents = new int[5_000];
+        int[] values = new int[parents.length];
+        parents[0] = -1;
+        for (int i = 0; i < parents.length; i++) {
+            if (i > 0) {
+                parents[i] = random.nextInt(i);
+            }
+            values[i] = random.nextInt();
+        }
+        TreeNode<Integer> built = TreeBuilder.fromParentArray(parents, values);
+        assertEquals(parents.length, TreeAlgorithms.count(built));
+
+        Path file = folder.newFile().toPath();
+        TreeBuilder.writeEdges(built, file);
+        assertEquals(12L * parents.length, Files.size(file));
+        // A small chunk size makes records straddle many reads
+        TreeNode<Integer> read = TreeBuilder.fromEdges(file, 7);
+        assertTrue(TreeAlgorithms.equals(built, read));
+        // Children lists are created at their final size
+        for (TreeNode<Integer> leaf : TreeAlgorithms.leaves(read)) {
+            assertEquals(0, leaf.children.size());
+        }
+
+        TreeBuilder.writeEdges(null, file);
+        assertNull(TreeBuilder.fromEdges(file));
+        assertNull(TreeBuilder.fromParentArray(new int[0], new int[0]));
+    }
+
+    @Test
+    public void AnyRecordOrderTest() throws IOException {
+        //        10
+        //       /  \
+        //     20    30
+        //     |
+        //     40
+        List<int[]> records = new ArrayList<>(Arrays.asList(
+                new int[]{-1, 0, 10}, new int[]{0, 1, 20}, new int[]{0, 2, 30}, new int[]{1, 3, 40}));
+        Collections.reverse(records); // children before their parents
+        TreeNode<Integer> root = TreeBuilder.fromEdges(
+                writeRecords(folder.newFile().toPath(), records.toArray(new int[0][])));
+        assertEquals(10, (int) root.payload);
+        // Siblings follow record order, which was reversed
+        assertEquals(30, (int) root.getChild(0).payload);
+        assertEquals(20, (int) root.getChild(1).payload);
+        assertEquals(40, (int) root.getChild(1).getChild(0).payload);
+        assertEquals(2, TreeAlgorithms.depth(root));
+    }
+
+    @Test
+    public void MalformedInputTest() throws IOException {
+        int[][][] bad = {
+                {{-1, 0, 1}, {-1, 1, 2}},           // two roots
+                {{0, 1, 1}, {1, 0, 2}},             // no root
+                {{-1, 0, 1}, {0, 5, 2}},            // id out of range
+                {{-1, 0, 1}, {0, 0, 2}},            // node described twice
+                {{-1, 0, 1}, {2, 1, 2}, {1, 2, 3}}, // detached cycle
+                {{-1, 0, 1}, {1, 1, 2}},            // node is its own parent
+        };
+        for (int[][] records : bad) {
+            try {
+                TreeBuilder.fromEdges(writeRecords(folder.newFile().toPath(), records));
+                fail(Arrays.deepToString(records));
+            } catch (IOException expected) {
+            }
+        }
+        Path truncated = folder.newFile().toPath();
+        Files.write(truncated, new byte[13]);
+        try {
+            TreeBuilder.fromEdges(truncated);
+            fail();
+        } catch (IOException expected) {
+        }
+
+        try {
+            TreeBuilder.fromParentArray(new int[]{-1, -1}, new int[]{1, 2});
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            TreeBuilder.fromParentArray(new int[]{-1, 2}, new int[]{1, 2});
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            // Nodes 1 and 2 are each other's parent, so only the root is reachable
+            TreeBuilder.fromParentArray(new int[]{-1, 2, 1}, new int[]{10, 11, 12});
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
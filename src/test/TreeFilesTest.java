@@ -0,0 +1,185 @@
+package test;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.MappedTreeFile;
+import trees.TreeAlgorithms;
+import trees.TreeFiles;
+import trees.TreeNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.*;
+
+public class TreeFilesTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static BinaryNode<Integer> randomBst(int n, Random random) {
+        BinaryNode<Integer> root = BinaryTreeAlgorithms.insert(null, random.nextInt(100_000));
+        for (int i = 1; i < n; i++) {
+            BinaryTreeAlgorithms.insert(root, random.nextInt(100_000));
+        }
+        return root;
+    }
+
+    private static TreeNode<Integer> randomTree(int n, Random random) {
+        ArrayList<TreeNode<Integer>> all = new ArrayList<>();
+        all.add(new TreeNode<>(random.nextInt()));
+        for (int i = 1; i < n; i++) {
+            TreeNode<Integer> child = new TreeNode<>(random.nextInt());
+            all.get(random.nextInt(i)).addChild(child);
+            all.add(child);
+        }
+        return all.get(0);
+    }
+
+    @Test
+    public void BinaryRoundTripTest() throws IOException {
+        Random random = new Random(143);
+        Path file = folder.newFile("binary.tree").toPath();
+        for (int n : new int[]{1, 2, 3, 50, 5_000}) {
+            BinaryNode<Integer> root = randomBst(n, random);
+            TreeFiles.write(root, file);
+            assertTrue(BinaryTreeAlgorithms.equals(root, TreeFiles.readBinary(file)));
+
+            MappedTreeFile mapped = MappedTreeFile.open(file);
+            assertTrue(mapped.isBinary());
+            List<Integer> inOrder = new ArrayList<>();
+            mapped.inOrder(inOrder::add);
+            assertEquals(BinaryTreeAlgorithms.inOrder(root), inOrder);
+            assertEquals(BinaryTreeAlgorithms.preOrder(root).size(), mapped.count());
+            for (int i = 0; i < 200; i++) {
+                int value = random.nextInt(100_000);
+                int position = mapped.binarySearch(value);
+                assertEquals(BinaryTreeAlgorithms.binarySearch(root, value) != null, position != MappedTreeFile.NONE);
+                if (position != MappedTreeFile.NONE) {
+                    assertEquals(value, mapped.payload(position));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void TreeRoundTripTest() throws IOException {
+        Random random = new Random(143);
+        Path file = folder.newFile("nary.tree").toPath();
+        TreeNode<Integer> root = randomTree(3_000, random);
+        TreeFiles.write(root, file);
+        assertTrue(TreeAlgorithms.equals(root, TreeFiles.readTree(file)));
+
+        MappedTreeFile mapped = MappedTreeFile.open(file);
+        assertFalse(mapped.isBinary());
+        assertEquals(TreeAlgorithms.count(root), mapped.count());
+        assertEquals(TreeAlgorithms.max(root), mapped.max());
+        assertEquals(TreeAlgorithms.min(root), mapped.min());
+    }
+
+    @Test
+    public void ObjectPayloadTest() throws IOException {
+        Path file = folder.newFile("strings.tree").toPath();
+        TreeNode<String> root = new TreeNode<>("root");
+        root.addChild(new TreeNode<>("a"));
+        root.addChild(new TreeNode<>("b"));
+        root.getChild(0).addChild(new TreeNode<>("c"));
+        TreeFiles.write(root, file);
+        assertTrue(TreeAlgorithms.equals(root, TreeFiles.readTree(file)));
+
+        try {
+            MappedTreeFile.open(file);
+            fail();
+        } catch (IOException expected) {
+        }
+
+        TreeFiles.write((TreeNode<String>) null, file);
+        assertNull(TreeFiles.readTree(file));
+        assertNull(MappedTreeFile.open(file).max());
+    }
+
+    @Test
+    public void TruncatedFileTest() throws IOException {
+        Path file = folder.newFile("truncated.tree").toPath();
+        TreeFiles.write(randomTree(100, new Random(143)), file);
+        byte[] whole = Files.readAllBytes(file);
+        // Empty, shorter than the header, and cut off inside the payloads
+        for (int length : new int[]{0, 5, 17, 18 + 4 * 50}) {
+            Files.write(file, Arrays.copyOf(whole, length));
+            try {
+                MappedTreeFile.open(file);
+                fail("length " + length);
+            } catch (IOException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void TruncatedStructureTest() throws IOException {
+        Path binaryFile = folder.newFile("binary.tree").toPath();
+        Path treeFile = folder.newFile("nary.tree").toPath();
+        TreeFiles.write(randomBst(100, new Random(143)), binaryFile);
+        TreeFiles.write(randomTree(100, new Random(143)), treeFile);
+        // Cut off inside the structure bits, after the header and payloads are whole
+        for (Path file : Arrays.asList(binaryFile, treeFile)) {
+            byte[] whole = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(whole, whole.length - 1));
+            try {
+                MappedTreeFile.open(file);
+                fail(file.toString());
+            } catch (IOException expected) {
+            }
+        }
+        try {
+            TreeFiles.readBinary(binaryFile);
+            fail();
+        } catch (IOException expected) {
+        }
+        try {
+            TreeFiles.readTree(treeFile);
+            fail();
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void InconsistentStructureTest() throws IOException {
+        Path binaryFile = folder.newFile("binary.tree").toPath();
+        Path treeFile = folder.newFile("nary.tree").toPath();
+        TreeFiles.write(randomBst(100, new Random(143)), binaryFile);
+        TreeFiles.write(randomTree(100, new Random(143)), treeFile);
+        byte[] binaryBytes = Files.readAllBytes(binaryFile);
+        byte[] treeBytes = Files.readAllBytes(treeFile);
+        // No children at all leaves later nodes without a parent; children everywhere leaves
+        // nodes waiting for children that never come
+        for (byte fill : new byte[]{0, -1}) {
+            Files.write(binaryFile, withStructure(binaryBytes, fill));
+            try {
+                TreeFiles.readBinary(binaryFile);
+                fail("fill " + fill);
+            } catch (IOException expected) {
+            }
+            Files.write(treeFile, withStructure(treeBytes, fill));
+            try {
+                TreeFiles.readTree(treeFile);
+                fail("fill " + fill);
+            } catch (IOException expected) {
+            }
+        }
+    }
+
+    private static byte[] withStructure(byte[] file, byte fill) {
+        byte[] copy = file.clone();
+        int structureOffset = (int) ByteBuffer.wrap(copy).getLong(10);
+        Arrays.fill(copy, structureOffset, copy.length, fill);
+        return copy;
+    }
+}
@@ -0,0 +1,129 @@
+package test;
+
+import org.junit.Test;
+import trees.BinaryNode;
+import trees.BinaryTreeAlgorithms;
+import trees.TreeAlgorithms;
+import trees.TreeMetrics;
+import trees.TreeNode;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
+
+import static junit.framework.TestCase.*;
+
+public class TreeMetricsTest {
+    //           4
+    //          / \
+    //         2   6
+    //        / \
+    //       1   3
+    private static BinaryNode<Integer> buildTree() {
+        BinaryNode<Integer> root = BinaryTreeAlgorithms.insert(null, 4);
+        for (int value : new int[]{2, 6, 1, 3}) {
+            BinaryTreeAlgorithms.insert(root, value);
+        }
+        return root;
+    }
+
+    //        1
+    //      / | \
+    //     2  3  4
+    //        |
+    //        5
+    private static TreeNode<Integer> buildNaryTree() {
+        TreeNode<Integer> root = new TreeNode<>(1);
+        for (int value = 2; value <= 4; value++) {
+            root.addChild(new TreeNode<>(value));
+        }
+        root.getChild(1).addChild(new TreeNode<>(5));
+        return root;
+    }
+
+    @Test
+    public void DisabledByDefaultTest() {
+        assertFalse(TreeMetrics.ENABLED);
+        BinaryNode<Integer> root = buildTree();
+        assertEquals(3, (int) BinaryTreeAlgorithms.binarySearch(root, 3).payload);
+        BinaryTreeAlgorithms.inOrder(root);
+        assertEquals(5, (int) TreeAlgorithms.max(buildNaryTree()));
+        assertTrue(TreeMetrics.summary().isEmpty());
+        assertEquals(0, TreeMetrics.visits(TreeMetrics.Operation.binarySearch).count());
+    }
+
+    @Test
+    public void EnabledRecordsTest() throws Exception {
+        // ENABLED is fixed when the class loads, so the enabled path runs in its own JVM
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-Dtrees.metrics=true",
+                "-cp", System.getProperty("java.class.path"), TreeMetricsTest.class.getName())
+                .redirectErrorStream(true).start();
+        Map<String, Long> summary = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("=");
+                assertEquals(line, 2, parts.length);
+                summary.put(parts[0], Long.parseLong(parts[1]));
+            }
+        }
+        assertEquals(0, process.waitFor());
+
+        // Four inserts below the root, landing at depths 2, 2, 3 and 3
+        assertEquals(4, (long) summary.get("insert.visits.count"));
+        assertEquals(3, (long) summary.get("insert.visits.max"));
+        // Searches for 3 (4 -> 2 -> 3) and for the missing 5 (4 -> 6)
+        assertEquals(2, (long) summary.get("binarySearch.visits.count"));
+        assertEquals(3, (long) summary.get("binarySearch.visits.max"));
+        assertEquals(2, (long) summary.get("binarySearch.nanos.count"));
+        assertEquals(5, (long) summary.get("inOrder.visits.max"));
+        assertEquals(1, (long) summary.get("inOrder.bytes.count"));
+        // Traversals of an empty tree return before recording anything
+        assertEquals(1, (long) summary.get("inOrder.visits.count"));
+        assertFalse(summary.containsKey("preOrder.visits.count"));
+        assertFalse(summary.containsKey("postOrder.visits.count"));
+
+        // Every TreeAlgorithms walk over the five-node tree visits all of it
+        for (String operation : new String[]{"max", "min", "count", "depth", "leaves"}) {
+            assertEquals(operation, 1, (long) summary.get(operation + ".visits.count"));
+            assertEquals(operation, 5, (long) summary.get(operation + ".visits.max"));
+        }
+        assertEquals(1, (long) summary.get("leaves.bytes.count"));
+        // path stops at 3, the third node in pre-order
+        assertEquals(3, (long) summary.get("path.visits.max"));
+        // Equal trees compare all five pairs; the second call stops at the first pair
+        assertEquals(2, (long) summary.get("equals.visits.count"));
+        assertEquals(5, (long) summary.get("equals.visits.max"));
+        assertEquals(1, (long) summary.get("registered"));
+    }
+
+    // Entry point for the forked JVM in EnabledRecordsTest
+    public static void main(String[] args) throws Exception {
+        BinaryNode<Integer> root = buildTree();
+        BinaryTreeAlgorithms.binarySearch(root, 3);
+        BinaryTreeAlgorithms.binarySearch(root, 5);
+        BinaryTreeAlgorithms.inOrder(root);
+        BinaryTreeAlgorithms.preOrder(null, value -> { });
+        BinaryTreeAlgorithms.inOrder(null, value -> { });
+        BinaryTreeAlgorithms.postOrder(null, value -> { });
+        TreeNode<Integer> tree = buildNaryTree();
+        TreeAlgorithms.max(tree);
+        TreeAlgorithms.min(tree);
+        TreeAlgorithms.count(tree);
+        TreeAlgorithms.depth(tree);
+        TreeAlgorithms.leaves(tree);
+        TreeAlgorithms.path(tree, 3);
+        TreeAlgorithms.equals(tree, buildNaryTree());
+        TreeAlgorithms.equals(tree, new TreeNode<>(0));
+        for (Map.Entry<String, Long> entry : TreeMetrics.summary().entrySet()) {
+            System.out.println(entry.getKey() + "=" + entry.getValue());
+        }
+        TreeMetrics.registerMBean();
+        Object summary = java.lang.management.ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new javax.management.ObjectName("trees:type=TreeMetrics"), "Summary");
+        System.out.println("registered=" + (summary != null ? 1 : 0));
+    }
+}
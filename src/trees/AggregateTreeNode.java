@@ -0,0 +1,94 @@
+package trees;
+
+/**
+ * A TreeNode of Integers that keeps the size, minimum, maximum and height of its subtree
+ * up to date as children are added, so TreeAlgorithms::count, max, min and depth
+ * answer in O(1) for any node of an aggregate tree.
+ *
+ * Adding a child costs O(depth), since every ancestor's aggregates are updated.
+ * Only addChild maintains the aggregates: assigning to children or payload directly
+ * leaves them stale.
+ */
+public class AggregateTreeNode extends TreeNode<Integer> {
+    private AggregateTreeNode parent;
+    private int size;
+    private int min;
+    private int max;
+    private int height;
+
+    public AggregateTreeNode(Integer payload) {
+        super(payload);
+        this.size = 1;
+        this.min = payload;
+        this.max = payload;
+    }
+
+    /**
+     * Adds a child and updates the aggregates of this node and all its ancestors.
+     * @param child An AggregateTreeNode that is not already part of another tree.
+     * @return The index of the new child.
+     */
+    @Override
+    public int addChild(TreeNode<Integer> child) {
+        if (!(child instanceof AggregateTreeNode)) {
+            throw new IllegalArgumentException("children of an AggregateTreeNode must be AggregateTreeNodes");
+        }
+        AggregateTreeNode node = (AggregateTreeNode) child;
+        if (node.parent != null) {
+            throw new IllegalArgumentException("child already has a parent");
+        }
+        for (AggregateTreeNode ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+            if (ancestor == node) {
+                throw new IllegalArgumentException("a node cannot be added below itself");
+            }
+        }
+        node.parent = this;
+        int index = super.addChild(child);
+
+        // Walk up the ancestor chain; the new subtree sits childHeight levels below each ancestor
+        int childHeight = node.height + 1;
+        for (AggregateTreeNode ancestor = this; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.size += node.size;
+            ancestor.min = Math.min(ancestor.min, node.min);
+            ancestor.max = Math.max(ancestor.max, node.max);
+            ancestor.height = Math.max(ancestor.height, childHeight);
+            childHeight++;
+        }
+        return index;
+    }
+
+    /**
+     * @return The parent node, or null for the root.
+     */
+    public AggregateTreeNode getParent() {
+        return parent;
+    }
+
+    /**
+     * @return The number of nodes in this subtree.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The minimum payload in this subtree.
+     */
+    public int min() {
+        return min;
+    }
+
+    /**
+     * @return The maximum payload in this subtree.
+     */
+    public int max() {
+        return max;
+    }
+
+    /**
+     * @return The depth (height) of this subtree, as defined by TreeAlgorithms::depth.
+     */
+    public int height() {
+        return height;
+    }
+}
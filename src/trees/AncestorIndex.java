@@ -0,0 +1,214 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+/**
+ * A precomputed index answering lowest-common-ancestor and ancestor queries on a TreeNode tree.
+ *
+ * Building the index numbers the nodes in pre-order and records, per node, its depth and its
+ * 2^k-th ancestor for every k (binary lifting). lca, isAncestor and distance then jump up the
+ * tree in O(log depth), instead of comparing two O(n) TreeAlgorithms::path results.
+ *
+ * Nodes are identified by reference, so equal payloads in different places are told apart.
+ * The index stays valid as long as children are only appended through AncestorIndex::addChild;
+ * rebuild it after any other change to the tree.
+ * @param <T> Type of value contained by the tree.
+ */
+public class AncestorIndex<T> {
+    private final IdentityHashMap<TreeNode<T>, Integer> ids = new IdentityHashMap<>();
+    private final ArrayList<TreeNode<T>> nodes = new ArrayList<>();
+    private int size;
+    private int[] depths = new int[16];
+    // jumps.get(k)[v] is the 2^k-th ancestor of v; the root is its own ancestor
+    private final ArrayList<int[]> jumps = new ArrayList<>();
+
+    /**
+     * Builds the index in one O(n log depth) pass.
+     * @param root Root of the tree.
+     */
+    public AncestorIndex(TreeNode<T> root) {
+        jumps.add(new int[depths.length]);
+        if (root != null) {
+            index(root, -1);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(TreeNode<T> node) {
+        return ids.containsKey(node);
+    }
+
+    /**
+     * @param node A node of the tree.
+     * @return The node's depth; 0 for the root.
+     * @throws IllegalArgumentException If the node is not in the index.
+     */
+    public int depth(TreeNode<T> node) {
+        return depths[id(node)];
+    }
+
+    /**
+     * Appends a child to a node of the tree and indexes it, along with any subtree it already has.
+     * Costs O(k log depth) for a subtree of k nodes.
+     * @param parent A node already in the index.
+     * @param child The new child; it must not already be in the index.
+     * @return The index of the child in the parent's children, as returned by TreeNode::addChild.
+     * @throws IllegalArgumentException If parent is not in the index, or a node of the child's
+     *                                  subtree already is or appears in it twice. Neither the
+     *                                  tree nor the index is changed.
+     */
+    public int addChild(TreeNode<T> parent, TreeNode<T> child) {
+        int parentId = id(parent);
+        checkNewSubtree(child);
+        int position = parent.addChild(child);
+        index(child, parentId);
+        return position;
+    }
+
+    /**
+     * Finds the lowest common ancestor of two nodes in O(log depth).
+     * A node counts as its own ancestor, so lca(a, b) is a when a is an ancestor of b.
+     * @param a A node of the tree.
+     * @param b A node of the tree.
+     * @return The deepest node that is an ancestor of both.
+     * @throws IllegalArgumentException If either node is not in the index.
+     */
+    public TreeNode<T> lca(TreeNode<T> a, TreeNode<T> b) {
+        return nodes.get(lca(id(a), id(b)));
+    }
+
+    /**
+     * Determines in O(log depth) whether a lies on the path from the root to b.
+     * @param a A node of the tree.
+     * @param b A node of the tree.
+     * @return True if a is b or an ancestor of b.
+     * @throws IllegalArgumentException If either node is not in the index.
+     */
+    public boolean isAncestor(TreeNode<T> a, TreeNode<T> b) {
+        int ia = id(a);
+        int ib = id(b);
+        return depths[ia] <= depths[ib] && lift(ib, depths[ib] - depths[ia]) == ia;
+    }
+
+    /**
+     * Counts the edges between two nodes in O(log depth).
+     * @param a A node of the tree.
+     * @param b A node of the tree.
+     * @return The number of edges on the path from a to b.
+     * @throws IllegalArgumentException If either node is not in the index.
+     */
+    public int distance(TreeNode<T> a, TreeNode<T> b) {
+        int ia = id(a);
+        int ib = id(b);
+        return depths[ia] + depths[ib] - 2 * depths[lca(ia, ib)];
+    }
+
+    private int id(TreeNode<T> node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            throw new IllegalArgumentException("node is not in the tree");
+        }
+        return id;
+    }
+
+    private int lca(int a, int b) {
+        if (depths[a] < depths[b]) {
+            b = lift(b, depths[b] - depths[a]);
+        } else {
+            a = lift(a, depths[a] - depths[b]);
+        }
+        if (a == b) {
+            return a;
+        }
+        // Take the biggest jumps that still land below the common ancestor
+        for (int k = jumps.size() - 1; k >= 0; k--) {
+            int[] jump = jumps.get(k);
+            if (jump[a] != jump[b]) {
+                a = jump[a];
+                b = jump[b];
+            }
+        }
+        return jumps.get(0)[a];
+    }
+
+    // Walks up exactly steps levels, one jump per set bit
+    private int lift(int node, int steps) {
+        for (int k = 0; steps != 0; k++, steps >>>= 1) {
+            if ((steps & 1) != 0) {
+                node = jumps.get(k)[node];
+            }
+        }
+        return node;
+    }
+
+    // Validates a whole subtree before anything is modified, so a bad one leaves tree and index intact
+    private void checkNewSubtree(TreeNode<T> subtreeRoot) {
+        IdentityHashMap<TreeNode<T>, Boolean> seen = new IdentityHashMap<>();
+        ArrayDeque<TreeNode<T>> stack = new ArrayDeque<>();
+        stack.push(subtreeRoot);
+        while (!stack.isEmpty()) {
+            TreeNode<T> current = stack.pop();
+            if (ids.containsKey(current)) {
+                throw new IllegalArgumentException("child's subtree is already in the tree");
+            }
+            if (seen.put(current, Boolean.TRUE) != null) {
+                throw new IllegalArgumentException("node appears twice in the child's subtree");
+            }
+            if (current.children != null) {
+                for (TreeNode<T> child : current.children) {
+                    stack.push(child);
+                }
+            }
+        }
+    }
+
+    // Numbers a subtree in pre-order, so every parent is numbered before its children
+    private void index(TreeNode<T> subtreeRoot, int parentId) {
+        NodeStack<TreeNode<T>> stack = new NodeStack<>();
+        stack.push(subtreeRoot, parentId);
+        while (!stack.isEmpty()) {
+            int parent = stack.tag();
+            TreeNode<T> current = stack.pop();
+            if (ids.containsKey(current)) {
+                throw new IllegalArgumentException("node appears twice in the tree");
+            }
+            int id = size++;
+            ids.put(current, id);
+            nodes.add(current);
+            if (id == depths.length) {
+                depths = Arrays.copyOf(depths, id * 2);
+                for (int k = 0; k < jumps.size(); k++) {
+                    jumps.set(k, Arrays.copyOf(jumps.get(k), id * 2));
+                }
+            }
+            int depth = parent < 0 ? 0 : depths[parent] + 1;
+            depths[id] = depth;
+            // A new deepest level may need one more jump size, filled in for every node so far
+            if (depth >= 1 << jumps.size()) {
+                int[] previous = jumps.get(jumps.size() - 1);
+                int[] jump = new int[depths.length];
+                for (int v = 0; v < id; v++) {
+                    jump[v] = previous[previous[v]];
+                }
+                jumps.add(jump);
+            }
+            int ancestor = parent < 0 ? id : parent;
+            for (int k = 0; k < jumps.size(); k++) {
+                jumps.get(k)[id] = ancestor;
+                ancestor = jumps.get(k)[ancestor];
+            }
+
+            if (current.children != null) {
+                for (int i = current.children.size() - 1; i >= 0; i--) {
+                    stack.push(current.children.get(i), id);
+                }
+            }
+        }
+    }
+}
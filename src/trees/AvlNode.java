@@ -0,0 +1,29 @@
+package trees;
+
+/**
+ * A BinaryNode that also records the height of its subtree, for use by AvlTree.
+ * Since it is still a BinaryNode, the read-only BinaryTreeAlgorithms (traversals,
+ * binarySearch, path...) work on AVL trees unchanged.
+ */
+public class AvlNode extends BinaryNode<Integer> {
+    /**
+     * Height of the subtree rooted here; a leaf has height 1.
+     */
+    int height;
+
+    public AvlNode(Integer payload) {
+        super(payload);
+        this.height = 1;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return Number of nodes in the subtree rooted here, used for rank and select.
+     */
+    public int getSize() {
+        return size;
+    }
+}
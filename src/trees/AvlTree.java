@@ -0,0 +1,222 @@
+package trees;
+
+import java.util.function.Consumer;
+
+/**
+ * A self-balancing (AVL) binary search tree of Integers.
+ * Every insert and delete rotates nodes as needed so the height stays within
+ * about 1.44 log2(n), which keeps sorted input from degrading the tree into a list.
+ */
+public class AvlTree {
+    private AvlNode root;
+    private int size;
+
+    // Set by the recursive insert to the node holding the inserted value
+    private AvlNode found;
+    // Set by the recursive delete when a node was actually removed
+    private boolean removed;
+
+    /**
+     * @return The root of the tree, or null if the tree is empty.
+     */
+    public BinaryNode<Integer> getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The height of the tree; 0 for an empty tree, 1 for a single node.
+     */
+    public int height() {
+        return height(root);
+    }
+
+    /**
+     * Inserts an Integer value, rebalancing on the way back up.
+     * @param value The value to insert.
+     * @return The BinaryNode containing the newly inserted value, or an existing BinaryNode with an equal value.
+     */
+    public BinaryNode<Integer> insert(Integer value) {
+        root = insert(root, value);
+        return found;
+    }
+
+    /**
+     * Searches for a value.
+     * @param value The value to search for.
+     * @return The node containing the value, or null if the value is not present in the tree.
+     */
+    public BinaryNode<Integer> binarySearch(Integer value) {
+        return BinaryTreeAlgorithms.binarySearch(root, value);
+    }
+
+    public boolean contains(Integer value) {
+        return binarySearch(value) != null;
+    }
+
+    /**
+     * Removes a value, rebalancing on the way back up.
+     * @param value The value to remove.
+     * @return True if the value was present.
+     */
+    public boolean delete(Integer value) {
+        removed = false;
+        root = delete(root, value);
+        return removed;
+    }
+
+    /**
+     * Counts the values smaller than a given value, in O(log n).
+     * @param value The value to rank; it does not need to be in the tree.
+     * @return The number of values in the tree less than value.
+     */
+    public int rank(int value) {
+        return BinaryTreeAlgorithms.rank(root, value);
+    }
+
+    /**
+     * Finds the k-th smallest value, in O(log n).
+     * @param k Zero-based index in ascending order.
+     * @return The node holding the k-th smallest value.
+     * @throws IndexOutOfBoundsException If k is negative or not less than size().
+     */
+    public BinaryNode<Integer> select(int k) {
+        return BinaryTreeAlgorithms.select(root, k);
+    }
+
+    /**
+     * Hands every value in [lo, hi] to a sink in ascending order; see BinaryTreeAlgorithms::rangeScan.
+     */
+    public void rangeScan(int lo, int hi, Consumer<? super Integer> sink) {
+        BinaryTreeAlgorithms.rangeScan(root, lo, hi, sink);
+    }
+
+    /**
+     * @return The number of values in [lo, hi], in O(log n).
+     */
+    public int rangeCount(int lo, int hi) {
+        if (lo > hi) {
+            return 0;
+        }
+        return rank(hi) - rank(lo) + (contains(hi) ? 1 : 0);
+    }
+
+    private AvlNode insert(AvlNode node, Integer value) {
+        if (node == null) {
+            size++;
+            found = new AvlNode(value);
+            return found;
+        }
+        int compare = value.compareTo(node.payload);
+        if (compare == 0) {
+            found = node;
+            return node;
+        }
+        if (compare < 0) {
+            node.left = insert(left(node), value);
+        } else {
+            node.right = insert(right(node), value);
+        }
+        return rebalance(node);
+    }
+
+    private AvlNode delete(AvlNode node, Integer value) {
+        if (node == null) {
+            return null;
+        }
+        int compare = value.compareTo(node.payload);
+        if (compare < 0) {
+            node.left = delete(left(node), value);
+        } else if (compare > 0) {
+            node.right = delete(right(node), value);
+        } else {
+            removed = true;
+            size--;
+            if (node.left == null) {
+                return right(node);
+            }
+            if (node.right == null) {
+                return left(node);
+            }
+            // Two children: move the in-order successor node into this node's place,
+            // so node objects handed out by insert keep their payloads
+            AvlNode successor = right(node);
+            while (successor.left != null) {
+                successor = left(successor);
+            }
+            successor.right = removeMin(right(node));
+            successor.left = node.left;
+            node = successor;
+        }
+        return rebalance(node);
+    }
+
+    private AvlNode removeMin(AvlNode node) {
+        if (node.left == null) {
+            return right(node);
+        }
+        node.left = removeMin(left(node));
+        return rebalance(node);
+    }
+
+    private AvlNode rebalance(AvlNode node) {
+        update(node);
+        int balance = height(left(node)) - height(right(node));
+        if (balance > 1) {
+            // Left heavy; a left-right case needs the left child rotated first
+            if (height(left(left(node))) < height(right(left(node)))) {
+                node.left = rotateLeft(left(node));
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(right(right(node))) < height(left(right(node)))) {
+                node.right = rotateRight(right(node));
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private AvlNode rotateRight(AvlNode node) {
+        AvlNode pivot = left(node);
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private AvlNode rotateLeft(AvlNode node) {
+        AvlNode pivot = right(node);
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(AvlNode node) {
+        node.height = 1 + Math.max(height(left(node)), height(right(node)));
+        node.size = 1 + size(left(node)) + size(right(node));
+    }
+
+    private static int size(AvlNode node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(AvlNode node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static AvlNode left(AvlNode node) {
+        return (AvlNode) node.left;
+    }
+
+    private static AvlNode right(AvlNode node) {
+        return (AvlNode) node.right;
+    }
+}
@@ -5,14 +5,24 @@ public class BinaryNode<T> {
     public BinaryNode<T> right;
     public T payload;
 
+    // Merkle-style hash of this subtree, cached by BinaryTreeAlgorithms::hash; stale once the subtree changes
+    int structuralHash;
+    boolean hashed;
+
+    // Number of nodes in this subtree, kept by the constructors and by the BinaryTreeAlgorithms
+    // methods that change a tree; see BinaryTreeAlgorithms::updateSizes
+    int size;
+
     public BinaryNode(T payload) {
         this.payload = payload;
+        this.size = 1;
     }
 
     public BinaryNode(T payload, BinaryNode<T> left, BinaryNode<T> right) {
         this.payload = payload;
         this.left = left;
         this.right = right;
+        this.size = 1 + (left == null ? 0 : left.size) + (right == null ? 0 : right.size);
     }
 
     public enum Direction {
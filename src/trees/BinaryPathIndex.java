@@ -0,0 +1,78 @@
+package trees;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedList;
+
+/**
+ * A precomputed index answering BinaryTreeAlgorithms::path queries for one tree.
+ *
+ * Building the index numbers the nodes in pre-order and records, per node, its parent's
+ * number and one bit saying whether it is a right child. A query then walks from the
+ * target up to the root in O(depth), instead of scanning the tree.
+ *
+ * The index is a snapshot: rebuild it after changing the tree.
+ * @param <T> Type of node payload.
+ */
+public class BinaryPathIndex<T> {
+    private final HashMap<T, Integer> positions = new HashMap<>();
+    private final BitSet rightChild = new BitSet();
+    private int[] parents = new int[16];
+
+    /**
+     * Builds the index in one O(n) pass.
+     * When a value appears more than once, the first occurrence in pre-order wins,
+     * matching BinaryTreeAlgorithms::path.
+     * @param root Root of the tree.
+     */
+    public BinaryPathIndex(BinaryNode<T> root) {
+        if (root == null) {
+            return;
+        }
+        NodeStack<BinaryNode<T>> stack = new NodeStack<>();
+        // The tag carries (parent number * 2 + 1 if right child); -1 marks the root
+        stack.push(root, -1);
+        int next = 0;
+        while (!stack.isEmpty()) {
+            int link = stack.tag();
+            BinaryNode<T> current = stack.pop();
+            int position = next++;
+            if (position == parents.length) {
+                parents = Arrays.copyOf(parents, position * 2);
+            }
+            if (link < 0) {
+                parents[position] = -1;
+            } else {
+                parents[position] = link >> 1;
+                rightChild.set(position, (link & 1) == 1);
+            }
+            positions.putIfAbsent(current.payload, position);
+
+            if (current.right != null) { stack.push(current.right, position * 2 + 1); }
+            if (current.left != null) { stack.push(current.left, position * 2); }
+        }
+    }
+
+    public boolean contains(T value) {
+        return positions.containsKey(value);
+    }
+
+    /**
+     * Finds the path from the tree root to a target element in O(depth).
+     * @param value The value to search for.
+     * @return A LinkedList of Directions that lead to the target value, with the same
+     * meaning as BinaryTreeAlgorithms::path: empty for the root, null if the value is not present.
+     */
+    public LinkedList<BinaryNode.Direction> path(T value) {
+        Integer position = positions.get(value);
+        if (position == null) {
+            return null;
+        }
+        LinkedList<BinaryNode.Direction> returnList = new LinkedList<>();
+        for (int current = position; parents[current] >= 0; current = parents[current]) {
+            returnList.addFirst(rightChild.get(current) ? BinaryNode.Direction.right : BinaryNode.Direction.left);
+        }
+        return returnList;
+    }
+}
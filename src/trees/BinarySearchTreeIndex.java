@@ -0,0 +1,126 @@
+package trees;
+
+import java.util.LinkedList;
+
+/**
+ * An Integer Binary Search Tree together with a side index from each key to its node and parent.
+ *
+ * binarySearch is an O(1) lookup and path walks up the parent links in O(depth), instead of
+ * walking down from the root or scanning the tree like BinaryTreeAlgorithms::path.
+ * Keys are held unboxed in open-addressing maps, so lookups compare ints and never allocate.
+ *
+ * The index stays in sync as long as values are only added through BinarySearchTreeIndex::insert;
+ * rebuild it after any other change to the tree.
+ */
+public class BinarySearchTreeIndex {
+    private BinaryNode<Integer> root;
+    private final IntNodeMap<BinaryNode<Integer>> nodes = new IntNodeMap<>();
+    private final IntNodeMap<BinaryNode<Integer>> parents = new IntNodeMap<>();
+
+    /**
+     * Indexes an existing Binary Search Tree in one O(n) pass.
+     * @param root Root of the binary search tree; may be null for an empty tree.
+     */
+    public BinarySearchTreeIndex(BinaryNode<Integer> root) {
+        this.root = root;
+        if (root == null) {
+            return;
+        }
+        NodeStack<BinaryNode<Integer>> stack = new NodeStack<>();
+        stack.push(root, 0);
+        while (!stack.isEmpty()) {
+            BinaryNode<Integer> current = stack.pop();
+            nodes.putIfAbsent(current.payload, current);
+            if (current.right != null) {
+                parents.put(current.right.payload, current);
+                stack.push(current.right, 0);
+            }
+            if (current.left != null) {
+                parents.put(current.left.payload, current);
+                stack.push(current.left, 0);
+            }
+        }
+    }
+
+    /**
+     * @return The root of the tree, or null if the tree is empty.
+     */
+    public BinaryNode<Integer> getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Searches for a value in O(1).
+     * @param value The value to search for.
+     * @return The node containing the value, or null if the value is not present in the tree.
+     */
+    public BinaryNode<Integer> binarySearch(Integer value) {
+        return nodes.get(value);
+    }
+
+    public boolean contains(Integer value) {
+        return nodes.get(value) != null;
+    }
+
+    /**
+     * Inserts a value with the same result as BinaryTreeAlgorithms::insert, and indexes the new node.
+     * @param value The value to insert.
+     * @return The BinaryNode containing the newly inserted value, or an existing BinaryNode with an equal value.
+     */
+    public BinaryNode<Integer> insert(Integer value) {
+        BinaryNode<Integer> existing = nodes.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        BinaryNode<Integer> node = new BinaryNode<>(value);
+        nodes.putIfAbsent(value, node);
+        if (root == null) {
+            root = node;
+            return node;
+        }
+        // The value is known to be absent, so the walk only needs to find the empty slot,
+        // and every node on the way gains one in size
+        BinaryNode<Integer> current = root;
+        while (true) {
+            current.size++;
+            if (value < current.payload) {
+                if (current.left == null) {
+                    current.left = node;
+                    break;
+                }
+                current = current.left;
+            } else {
+                if (current.right == null) {
+                    current.right = node;
+                    break;
+                }
+                current = current.right;
+            }
+        }
+        parents.put(value, current);
+        return node;
+    }
+
+    /**
+     * Finds the path from the tree root to a target element in O(depth).
+     * @param value The value to search for.
+     * @return A LinkedList of Directions with the same meaning as BinaryTreeAlgorithms::path:
+     * empty for the root, null if the value is not present.
+     */
+    public LinkedList<BinaryNode.Direction> path(Integer value) {
+        BinaryNode<Integer> current = nodes.get(value);
+        if (current == null) {
+            return null;
+        }
+        LinkedList<BinaryNode.Direction> returnList = new LinkedList<>();
+        for (BinaryNode<Integer> parent = parents.get(value); parent != null; parent = parents.get(parent.payload)) {
+            returnList.addFirst(parent.left == current ? BinaryNode.Direction.left : BinaryNode.Direction.right);
+            current = parent;
+        }
+        return returnList;
+    }
+}
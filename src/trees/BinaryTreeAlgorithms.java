@@ -1,9 +1,18 @@
 package trees;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class BinaryTreeAlgorithms {
     /**
@@ -15,16 +24,43 @@ public class BinaryTreeAlgorithms {
 
     public static <T> List<T> preOrder(BinaryNode<T> root) {
         // Returns root, left, right
-        List<T> returnList = new LinkedList<>();
         if (root==null){
             return null;
         }
-        returnList.add(root.payload);
-        if (root.left!=null){returnList.addAll(preOrder(root.left));}
-        if (root.right!=null){returnList.addAll(preOrder(root.right));}
+        List<T> returnList = new ArrayList<>();
+        preOrder(root, returnList::add);
         return returnList;
     }
 
+    /**
+     * Performs a pre-order traversal of a binary tree, handing each payload to a sink.
+     * Uses an explicit stack, so degenerate (linked list shaped) trees do not overflow the call stack.
+     * @param root Root of binary tree.
+     * @param sink Receives the node payloads in traversal order.
+     * @param <T> Type of node payload.
+     */
+    public static <T> void preOrder(BinaryNode<T> root, Consumer<? super T> sink) {
+        if (root == null) {
+            return;
+        }
+        ArrayDeque<BinaryNode<T>> stack = new ArrayDeque<>();
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        long startBytes = TreeMetrics.ENABLED ? TreeMetrics.allocatedBytes() : 0;
+        int visits = 0;
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            BinaryNode<T> current = stack.pop();
+            visits++;
+            sink.accept(current.payload);
+            // Push right first so the left subtree comes off the stack first
+            if (current.right != null) { stack.push(current.right); }
+            if (current.left != null) { stack.push(current.left); }
+        }
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.preOrder, visits, startNanos, startBytes);
+        }
+    }
+
     /**
      * Performs a in-order traversal of a binary tree.
      * @param root Root of binary tree.
@@ -34,16 +70,46 @@ public class BinaryTreeAlgorithms {
 
     public static <T> List<T> inOrder(BinaryNode<T> root) {
         // Returns left, root, right
-        List<T> returnList = new LinkedList<>();
         if (root==null){
             return null;
         }
-        if (root.left!=null){returnList.addAll(inOrder(root.left));}
-        returnList.add(root.payload);
-        if (root.right!=null){returnList.addAll(inOrder(root.right));}
+        List<T> returnList = new ArrayList<>();
+        inOrder(root, returnList::add);
         return returnList;
     }
 
+    /**
+     * Performs a in-order traversal of a binary tree, handing each payload to a sink.
+     * Uses an explicit stack, so degenerate (linked list shaped) trees do not overflow the call stack.
+     * @param root Root of binary tree.
+     * @param sink Receives the node payloads in traversal order.
+     * @param <T> Type of node payload.
+     */
+    public static <T> void inOrder(BinaryNode<T> root, Consumer<? super T> sink) {
+        if (root == null) {
+            return;
+        }
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        long startBytes = TreeMetrics.ENABLED ? TreeMetrics.allocatedBytes() : 0;
+        int visits = 0;
+        ArrayDeque<BinaryNode<T>> stack = new ArrayDeque<>();
+        BinaryNode<T> current = root;
+        while (current != null || !stack.isEmpty()) {
+            // Walk down the left spine, remembering the nodes we pass
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            visits++;
+            sink.accept(current.payload);
+            current = current.right;
+        }
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.inOrder, visits, startNanos, startBytes);
+        }
+    }
+
     /**
      * Performs a post-order traversal of a binary tree.
      * @param root Root of binary tree.
@@ -53,16 +119,85 @@ public class BinaryTreeAlgorithms {
 
     public static <T> List<T> postOrder(BinaryNode<T> root) {
         // Returns left, right, root
-        List<T> returnList = new LinkedList<>();
         if (root==null){
             return null;
         }
-        if (root.left!=null){returnList.addAll(postOrder(root.left));}
-        if (root.right!=null){returnList.addAll(postOrder(root.right));}
-        returnList.add(root.payload);
+        List<T> returnList = new ArrayList<>();
+        postOrder(root, returnList::add);
         return returnList;
     }
 
+    /**
+     * Performs a post-order traversal of a binary tree, handing each payload to a sink.
+     * Uses an explicit stack, so degenerate (linked list shaped) trees do not overflow the call stack.
+     * @param root Root of binary tree.
+     * @param sink Receives the node payloads in traversal order.
+     * @param <T> Type of node payload.
+     */
+    public static <T> void postOrder(BinaryNode<T> root, Consumer<? super T> sink) {
+        if (root == null) {
+            return;
+        }
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        long startBytes = TreeMetrics.ENABLED ? TreeMetrics.allocatedBytes() : 0;
+        int visits = 0;
+        ArrayDeque<BinaryNode<T>> stack = new ArrayDeque<>();
+        BinaryNode<T> current = root;
+        BinaryNode<T> lastVisited = null;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            BinaryNode<T> top = stack.peek();
+            if (top.right != null && top.right != lastVisited) {
+                // Right subtree has not been visited yet, go there before the node itself
+                current = top.right;
+            } else {
+                visits++;
+                sink.accept(top.payload);
+                lastVisited = stack.pop();
+            }
+        }
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.postOrder, visits, startNanos, startBytes);
+        }
+    }
+
+    /**
+     * Creates a lazy iterator over a binary tree.
+     * @param root Root of binary tree.
+     * @param order Traversal order.
+     * @param <T> Type of node payload.
+     * @return An Iterator that visits nodes only as elements are requested.
+     */
+    public static <T> Iterator<T> iterator(BinaryNode<T> root, BinaryTreeIterator.Order order) {
+        return new BinaryTreeIterator<>(root, order);
+    }
+
+    /**
+     * Creates a lazy, ordered Spliterator over a binary tree.
+     * @param root Root of binary tree.
+     * @param order Traversal order.
+     * @param <T> Type of node payload.
+     * @return A Spliterator that visits nodes only as elements are requested.
+     */
+    public static <T> Spliterator<T> spliterator(BinaryNode<T> root, BinaryTreeIterator.Order order) {
+        return Spliterators.spliteratorUnknownSize(iterator(root, order), Spliterator.ORDERED);
+    }
+
+    /**
+     * Creates a lazy sequential Stream over a binary tree.
+     * Short-circuiting operations (findFirst, limit, anyMatch...) only visit the nodes they need.
+     * @param root Root of binary tree.
+     * @param order Traversal order.
+     * @param <T> Type of node payload.
+     * @return A Stream of the node payloads in traversal order.
+     */
+    public static <T> Stream<T> stream(BinaryNode<T> root, BinaryTreeIterator.Order order) {
+        return StreamSupport.stream(spliterator(root, order), false);
+    }
+
     /**
      * Conduct a binary seach on a binary search tree for a target value.
      * @param root Root of the binary search tree.
@@ -71,18 +206,27 @@ public class BinaryTreeAlgorithms {
      */
     public static BinaryNode<Integer> binarySearch(BinaryNode<Integer> root, Integer value) {
         // Returns the node with the value of interest from a Binary Search Tree
-        if (root==null || root.payload==value) {
-            return root;
+        // Walks down with a loop so even a degenerate tree cannot overflow the stack
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        int visits = 0;
+        BinaryNode<Integer> current = root;
+        while (current != null) {
+            visits++;
+            int compare = value.compareTo(current.payload);
+            if (compare == 0) {
+                break;
+            }
+            // if value is less than payload, go left, otherwise go right
+            current = compare < 0 ? current.left : current.right;
         }
-        if (root.payload>value){  // if value is less than payload, go left
-             return binarySearch(root.left, value);
-        } else { // value is greater than payload
-            return binarySearch(root.right, value);
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.binarySearch, visits, startNanos);
         }
+        return current;
     }
 
     /**
-     * Inserts an Integer value into a Binary Search Tree.
+     * Inserts an Integer value into a Binary Search Tree, adding one to the size of every node above it.
      * @param root Root of the binary search tree.
      * @param value The value to insert.
      * @return The BinaryNode containing the newly inserted value, or an existing BinaryNode with an equal value.
@@ -90,54 +234,616 @@ public class BinaryTreeAlgorithms {
     public static BinaryNode<Integer> insert(BinaryNode<Integer> root, Integer value) {
         // Inserts the specific node at it's correct location, if it doesn't already exist there
         // Also return the node
-         if (root == null){
-             root = new BinaryNode<>(value); // create node if the root is null
-             return root;
-         }
-         if (root.payload==value){
-             return root;
-         }
-         if (value < root.payload){ // if value is less than payload, go left
-             if (root.left == null){
-                 root.left = new BinaryNode<>(value);
-                 return root.left;
-             }
-             return insert(root.left, value);
-         } else {
-             if (root.right == null) { // if value is greater than payload, go right
-                 root.right = new BinaryNode<>(value);
-                 return root.right;
-             }
-             return insert(root.right, value);
-         }
-
-    }
-
-    /**
-     * Determines if two BSTs are equal in value.
+        if (root == null) {
+            return new BinaryNode<>(value); // create node if the root is null
+        }
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        int visits = 0;
+        boolean added = false;
+        BinaryNode<Integer> current = root;
+        while (true) {
+            visits++;
+            int compare = value.compareTo(current.payload);
+            if (compare == 0) {
+                break;
+            }
+            if (compare < 0) { // if value is less than payload, go left
+                if (current.left == null) {
+                    current.left = new BinaryNode<>(value);
+                    current = current.left;
+                    visits++;
+                    added = true;
+                    break;
+                }
+                current = current.left;
+            } else { // if value is greater than payload, go right
+                if (current.right == null) {
+                    current.right = new BinaryNode<>(value);
+                    current = current.right;
+                    visits++;
+                    added = true;
+                    break;
+                }
+                current = current.right;
+            }
+        }
+        if (added) {
+            // Only now is it known the tree grew; the path is still in cache
+            addToSizes(root, current, 1);
+        }
+        if (TreeMetrics.ENABLED) {
+            // visits is the depth of the node inserted or found, so its max tracks the tree's height
+            TreeMetrics.record(TreeMetrics.Operation.insert, visits, startNanos);
+        }
+        return current;
+    }
+
+    /**
+     * Removes an Integer value from a Binary Search Tree.
+     * A node with two children is replaced by its in-order successor node, so every surviving
+     * value stays in the same BinaryNode object.
+     * @param root Root of the binary search tree.
+     * @param value The value to remove.
+     * @return The root of the tree after removal, which changes if the root itself was removed;
+     *         null if the tree is now empty.
+     */
+    public static BinaryNode<Integer> delete(BinaryNode<Integer> root, Integer value) {
+        BinaryNode<Integer> parent = null;
+        BinaryNode<Integer> current = root;
+        while (current != null) {
+            int compare = value.compareTo(current.payload);
+            if (compare == 0) {
+                break;
+            }
+            parent = current;
+            current = compare < 0 ? current.left : current.right;
+        }
+        if (current == null) {
+            return root; // not in the tree
+        }
+        addToSizes(root, current, -1);
+        BinaryNode<Integer> replacement = unlink(current);
+        if (parent == null) {
+            return replacement;
+        }
+        if (parent.left == current) {
+            parent.left = replacement;
+        } else {
+            parent.right = replacement;
+        }
+        return root;
+    }
+
+    /**
+     * Removes many Integer values from a Binary Search Tree in one merged traversal.
+     * The sorted keys are split at every node on the way down, so a subtree is only entered if
+     * some key could be in it, and nodes are unlinked on the way back up. Removing k keys costs
+     * O(k log k) to sort them plus the nodes on their search paths, rather than k separate walks
+     * from the root. The walk uses an explicit stack, so degenerate trees do not overflow.
+     * @param root Root of the binary search tree.
+     * @param values The values to remove; values not in the tree are ignored.
+     * @return The root of the tree after removal; null if the tree is now empty.
+     */
+    public static BinaryNode<Integer> deleteAll(BinaryNode<Integer> root, Collection<Integer> values) {
+        if (root == null || values.isEmpty()) {
+            return root;
+        }
+        int[] keys = values.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+
+        // Each frame is a subtree and the slice [lo, hi) of keys that could be in it.
+        // Finished subtrees are pushed onto results, left before right.
+        ArrayDeque<DeleteFrame> stack = new ArrayDeque<>();
+        ArrayList<BinaryNode<Integer>> results = new ArrayList<>();
+        stack.push(new DeleteFrame(root, 0, keys.length));
+        while (!stack.isEmpty()) {
+            DeleteFrame frame = stack.peek();
+            BinaryNode<Integer> node = frame.node;
+            if (!frame.expanded) {
+                if (node == null || frame.lo == frame.hi) {
+                    stack.pop();
+                    results.add(node); // nothing to remove below here
+                    continue;
+                }
+                frame.expanded = true;
+                int split = lowerBound(keys, frame.lo, frame.hi, node.payload);
+                frame.remove = split < frame.hi && keys[split] == node.payload;
+                // Push right first so the left subtree finishes first
+                stack.push(new DeleteFrame(node.right, frame.remove ? split + 1 : split, frame.hi));
+                stack.push(new DeleteFrame(node.left, frame.lo, split));
+            } else {
+                stack.pop();
+                node.right = results.remove(results.size() - 1);
+                node.left = results.remove(results.size() - 1);
+                node.size = 1 + size(node.left) + size(node.right);
+                results.add(frame.remove ? unlink(node) : node);
+            }
+        }
+        return results.get(0);
+    }
+
+    /**
+     * Rebuilds the highest subtrees that have drifted out of balance, scapegoat style.
+     * A node is out of balance if one of its subtrees holds more than alpha of the node's subtree.
+     * Each such subtree is relinked into a perfectly balanced shape, reusing its nodes, and its
+     * descendants are not examined further. Balanced regions are left untouched, so after
+     * occasional churn this costs O(n) to find the scapegoats plus the size of what is rebuilt.
+     * @param root Root of the binary search tree.
+     * @param alpha Balance factor, strictly between 0.5 and 1; smaller values rebuild more eagerly.
+     * @return The root of the rebalanced tree.
+     * @throws IllegalArgumentException If alpha is not strictly between 0.5 and 1.
+     */
+    public static BinaryNode<Integer> rebalance(BinaryNode<Integer> root, double alpha) {
+        if (!(alpha > 0.5 && alpha < 1)) {
+            throw new IllegalArgumentException("alpha must be strictly between 0.5 and 1");
+        }
+        if (root == null) {
+            return null;
+        }
+        // Pre-order with each node's parent position, then subtree sizes from the back:
+        // the left child of position i is at i + 1 and the right child just after the left subtree
+        ArrayList<BinaryNode<Integer>> nodes = new ArrayList<>();
+        int[] parents = new int[16];
+        NodeStack<BinaryNode<Integer>> stack = new NodeStack<>();
+        stack.push(root, -1);
+        while (!stack.isEmpty()) {
+            int parent = stack.tag();
+            BinaryNode<Integer> current = stack.pop();
+            if (nodes.size() == parents.length) {
+                parents = Arrays.copyOf(parents, parents.length * 2);
+            }
+            parents[nodes.size()] = parent;
+            nodes.add(current);
+            if (current.right != null) { stack.push(current.right, nodes.size() - 1); }
+            if (current.left != null) { stack.push(current.left, nodes.size() - 1); }
+        }
+        int n = nodes.size();
+        int[] sizes = new int[n];
+        for (int i = n - 1; i >= 0; i--) {
+            BinaryNode<Integer> node = nodes.get(i);
+            int leftSize = node.left == null ? 0 : sizes[i + 1];
+            int rightSize = node.right == null ? 0 : sizes[i + 1 + leftSize];
+            sizes[i] = 1 + leftSize + rightSize;
+        }
+
+        for (int i = 0; i < n; ) {
+            BinaryNode<Integer> node = nodes.get(i);
+            int leftSize = node.left == null ? 0 : sizes[i + 1];
+            int heavier = Math.max(leftSize, sizes[i] - 1 - leftSize);
+            if (heavier <= alpha * sizes[i]) {
+                i++;
+                continue;
+            }
+            BinaryNode<Integer> rebuilt = rebuild(node, sizes[i]);
+            int parent = parents[i];
+            if (parent < 0) {
+                root = rebuilt;
+            } else if (nodes.get(parent).left == node) {
+                nodes.get(parent).left = rebuilt;
+            } else {
+                nodes.get(parent).right = rebuilt;
+            }
+            i += sizes[i]; // skip the subtree just rebuilt
+        }
+        return root;
+    }
+
+    // Removes a node from its subtree, returning what should take its place.
+    // Sizes inside the subtree are kept; the node's ancestors are the caller's to update.
+    private static BinaryNode<Integer> unlink(BinaryNode<Integer> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        // Two children: the leftmost node of the right subtree takes this node's place
+        BinaryNode<Integer> successorParent = node;
+        BinaryNode<Integer> successor = node.right;
+        while (successor.left != null) {
+            successor.size--; // loses the successor from its subtree
+            successorParent = successor;
+            successor = successor.left;
+        }
+        if (successorParent != node) {
+            successorParent.left = successor.right;
+            successor.right = node.right;
+        }
+        successor.left = node.left;
+        successor.size = node.size - 1;
+        return successor;
+    }
+
+    // Adds delta to the size of every node strictly above target
+    private static void addToSizes(BinaryNode<Integer> root, BinaryNode<Integer> target, int delta) {
+        BinaryNode<Integer> current = root;
+        while (current != target) {
+            current.size += delta;
+            current = target.payload.compareTo(current.payload) < 0 ? current.left : current.right;
+        }
+    }
+
+    // Relinks the size nodes of a subtree into a perfectly balanced shape
+    private static BinaryNode<Integer> rebuild(BinaryNode<Integer> root, int size) {
+        ArrayList<BinaryNode<Integer>> sorted = new ArrayList<>(size);
+        ArrayDeque<BinaryNode<Integer>> stack = new ArrayDeque<>();
+        BinaryNode<Integer> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            sorted.add(current);
+            current = current.right;
+        }
+        return link(sorted, 0, sorted.size() - 1);
+    }
+
+    private static BinaryNode<Integer> link(List<BinaryNode<Integer>> sorted, int lo, int hi) {
+        // Recursion depth is only log2(n), since each call halves the range
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        BinaryNode<Integer> node = sorted.get(mid);
+        node.left = link(sorted, lo, mid - 1);
+        node.right = link(sorted, mid + 1, hi);
+        node.size = hi - lo + 1;
+        return node;
+    }
+
+    // First index in [lo, hi) whose key is >= value
+    private static int lowerBound(int[] keys, int lo, int hi, int value) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static final class DeleteFrame {
+        final BinaryNode<Integer> node;
+        final int lo;
+        final int hi;
+        boolean expanded;
+        boolean remove;
+
+        DeleteFrame(BinaryNode<Integer> node, int lo, int hi) {
+            this.node = node;
+            this.lo = lo;
+            this.hi = hi;
+        }
+    }
+
+    /**
+     * Hands every value in [lo, hi] of a Binary Search Tree to a sink, in ascending order.
+     * Subtrees entirely outside the range are never entered, so only O(height + k) nodes
+     * are touched for k results.
+     * @param root Root of the binary search tree.
+     * @param lo Smallest value to include.
+     * @param hi Largest value to include.
+     * @param sink Receives the values in range.
+     */
+    public static void rangeScan(BinaryNode<Integer> root, int lo, int hi, Consumer<? super Integer> sink) {
+        ArrayDeque<BinaryNode<Integer>> stack = new ArrayDeque<>();
+        BinaryNode<Integer> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                if (current.payload < lo) {
+                    // This node and its whole left subtree are below the range
+                    current = current.right;
+                } else {
+                    stack.push(current);
+                    current = current.left;
+                }
+            }
+            if (stack.isEmpty()) {
+                return;
+            }
+            current = stack.pop();
+            if (current.payload > hi) {
+                return; // everything left to visit is larger still
+            }
+            sink.accept(current.payload);
+            current = current.right;
+        }
+    }
+
+    /**
+     * Returns the number of nodes in a binary tree in O(1), from the size kept on its root.
+     * Sizes are set by BinaryNode's constructors and kept up to date by insert, delete, deleteAll,
+     * rebalance and fromSorted; after writing left or right directly, call updateSizes.
+     * @param root Root of the binary tree.
+     * @param <T> Type of node payload.
+     * @return The number of nodes; 0 if the root is null.
+     */
+    public static <T> int size(BinaryNode<T> root) {
+        return root == null ? 0 : root.size;
+    }
+
+    /**
+     * Counts the values of a Binary Search Tree smaller than a given value, in O(height).
+     * @param root Root of the binary search tree.
+     * @param value The value to rank; it does not need to be in the tree.
+     * @return The number of values in the tree less than value.
+     */
+    public static int rank(BinaryNode<Integer> root, int value) {
+        int rank = 0;
+        BinaryNode<Integer> current = root;
+        while (current != null) {
+            if (value <= current.payload) {
+                current = current.left;
+            } else {
+                // This node and its whole left subtree are smaller
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Finds the k-th smallest value of a Binary Search Tree, in O(height).
+     * @param root Root of the binary search tree.
+     * @param k Zero-based index in ascending order.
+     * @return The node holding the k-th smallest value.
+     * @throws IndexOutOfBoundsException If k is negative or not less than the size of the tree.
+     */
+    public static BinaryNode<Integer> select(BinaryNode<Integer> root, int k) {
+        if (k < 0 || k >= size(root)) {
+            throw new IndexOutOfBoundsException("k = " + k + ", size = " + size(root));
+        }
+        BinaryNode<Integer> current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (k < leftSize) {
+                current = current.left;
+            } else if (k == leftSize) {
+                return current;
+            } else {
+                k -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * Recomputes the size kept on every node of a binary tree, in one iterative post-order pass.
+     * Only needed after changing a tree by writing left or right directly.
+     * @param root Root of the binary tree.
+     * @param <T> Type of node payload.
+     */
+    public static <T> void updateSizes(BinaryNode<T> root) {
+        if (root == null) {
+            return;
+        }
+        // In pre-order every node comes before its children, so walking the list
+        // backwards sizes the children first
+        ArrayList<BinaryNode<T>> nodes = new ArrayList<>();
+        preOrderNodes(root, nodes);
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            BinaryNode<T> node = nodes.get(i);
+            node.size = 1 + size(node.left) + size(node.right);
+        }
+    }
+
+    /**
+     * Builds a perfectly balanced Binary Search Tree from sorted values in O(n).
+     * @param values Values in strictly ascending order.
+     * @return Root of the new tree, or null if there are no values.
+     * @throws IllegalArgumentException If the values are not in strictly ascending order.
+     */
+    public static BinaryNode<Integer> fromSorted(int[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] >= values[i]) {
+                throw new IllegalArgumentException("values must be in strictly ascending order");
+            }
+        }
+        return fromSorted(values, 0, values.length - 1);
+    }
+
+    /**
+     * Builds a perfectly balanced Binary Search Tree from a sorted list in O(n).
+     * @param values Values in strictly ascending order.
+     * @return Root of the new tree, or null if the list is empty.
+     * @throws IllegalArgumentException If the values are not in strictly ascending order.
+     */
+    public static BinaryNode<Integer> fromSorted(List<Integer> values) {
+        // Copy out first so a LinkedList does not make every get() O(n)
+        int[] array = new int[values.size()];
+        int i = 0;
+        for (Integer value : values) {
+            array[i++] = value;
+        }
+        return fromSorted(array);
+    }
+
+    private static BinaryNode<Integer> fromSorted(int[] values, int lo, int hi) {
+        // Recursion depth is only log2(n), since each call halves the range
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        return new BinaryNode<>(values[mid], fromSorted(values, lo, mid - 1), fromSorted(values, mid + 1, hi));
+    }
+
+    /**
+     * Builds a balanced Binary Search Tree from a sorted stream of unknown length, in O(n) time,
+     * holding only O(log n) nodes aside from the tree itself.
+     *
+     * Numbering the values 1, 2, 3... the value numbered i sits at height h = trailing zeros of i
+     * in a perfect tree. Its left child is the most recent value at height h - 1, and if
+     * i / 2^h is 3 mod 4 it is the right child of the most recent value at height h + 1.
+     * When the stream ends, the subtrees still missing a parent are chained down the right
+     * spine, so the height is at most one more than a perfectly balanced tree.
+     *
+     * @param values Values in strictly ascending order.
+     * @return Root of the new tree, or null if the iterator is empty.
+     * @throws IllegalArgumentException If the values are not in strictly ascending order.
+     */
+    public static BinaryNode<Integer> fromSorted(Iterator<Integer> values) {
+        // Most recent node (and its number) at each height
+        ArrayList<BinaryNode<Integer>> last = new ArrayList<>();
+        ArrayList<Long> lastNumber = new ArrayList<>();
+        long count = 0;
+        Integer previous = null;
+        while (values.hasNext()) {
+            Integer value = values.next();
+            if (previous != null && previous >= value) {
+                throw new IllegalArgumentException("values must be in strictly ascending order");
+            }
+            previous = value;
+            count++;
+
+            int height = Long.numberOfTrailingZeros(count);
+            BinaryNode<Integer> node = new BinaryNode<>(value);
+            if (height > 0) {
+                node.left = last.get(height - 1);
+            }
+            if (((count >>> height) & 3) == 3) {
+                last.get(height + 1).right = node;
+            }
+            if (height == last.size()) {
+                last.add(node);
+                lastNumber.add(count);
+            } else {
+                last.set(height, node);
+                lastNumber.set(height, count);
+            }
+        }
+
+        // Roots of the finished subtrees whose parent would have come after the last value,
+        // collected from the highest (leftmost) down
+        BinaryNode<Integer> root = null;
+        BinaryNode<Integer> spine = null;
+        for (int height = last.size() - 1; height >= 0; height--) {
+            long number = lastNumber.get(height);
+            boolean waitingForParent = ((number >>> height) & 3) == 1 && number + (1L << height) > count;
+            if (!waitingForParent) {
+                continue;
+            }
+            BinaryNode<Integer> orphan = last.get(height);
+            if (root == null) {
+                root = orphan;
+            } else {
+                spine.right = orphan;
+            }
+            spine = orphan;
+            while (spine.right != null) {
+                spine = spine.right;
+            }
+        }
+        // Right children were linked before their own subtrees were complete
+        updateSizes(root);
+        return root;
+    }
+
+    /**
+     * Determines if two binary trees are equal in structure and value.
+     * Payloads are compared with equals. The walk is iterative and stops at the first mismatch,
+     * and identical subtrees are skipped. Hashes cached by BinaryTreeAlgorithms::hash are ignored.
+     * @param A Root of first tree.
+     * @param B Root of second tree.
+     * @param <T> Type of node payload.
+     * @return True or false depending on the equality of the two trees.
+     */
+    public static <T> boolean equals(BinaryNode<T> A, BinaryNode<T> B) {
+        return equals(A, B, false);
+    }
+
+    /**
+     * Determines if two binary trees are equal in structure and value, optionally rejecting
+     * subtrees whose hashes cached by BinaryTreeAlgorithms::hash differ without walking them.
+     *
+     * No mutator clears the cache, so only trust it if neither tree has changed since it was
+     * last hashed; otherwise two equal trees can be reported unequal.
      * @param A Root of first tree.
      * @param B Root of second tree.
+     * @param trustCachedHashes Whether cached hashes may be used to reject unequal subtrees.
+     * @param <T> Type of node payload.
      * @return True or false depending on the equality of the two trees.
      */
-    public static boolean equals(BinaryNode<Integer> A, BinaryNode<Integer> B) {
-        // This method compares two Binary Trees recursively and returns if they are
-        // equal in structure and value
-        boolean pay_val = false; // this is for values
-        boolean side_val = false; // this is to see if the side nodes are the same
+    public static <T> boolean equals(BinaryNode<T> A, BinaryNode<T> B, boolean trustCachedHashes) {
+        NodeStack<BinaryNode<T>> stack = new NodeStack<>();
+        // Pairs are pushed B then A, so they come off A then B
+        stack.push(B, 0);
+        stack.push(A, 0);
+        while (!stack.isEmpty()) {
+            BinaryNode<T> a = stack.pop();
+            BinaryNode<T> b = stack.pop();
+            if (a == b) {
+                continue; // same subtree (or both null)
+            }
+            if (a == null || b == null) {
+                return false;
+            }
+            if (trustCachedHashes && a.hashed && b.hashed && a.structuralHash != b.structuralHash) {
+                return false;
+            }
+            if (!Objects.equals(a.payload, b.payload)) {
+                return false;
+            }
+            stack.push(b.right, 0);
+            stack.push(a.right, 0);
+            stack.push(b.left, 0);
+            stack.push(a.left, 0);
+        }
+        return true;
+    }
+
+    /**
+     * Computes a Merkle-style hash of a binary tree, combining each payload's hashCode with the
+     * hashes of its children, and caches the hash on every node of the tree.
+     *
+     * BinaryTreeAlgorithms::equals(A, B, true) uses the cached hashes to reject unequal subtrees
+     * in O(1). The cache reflects the tree as it was when this method was last called; nothing
+     * clears it, so call this again after any change, including insert, delete and direct writes
+     * to left, right or payload.
+     * @param root Root of the tree.
+     * @param <T> Type of node payload.
+     * @return The hash of the whole tree; 0 for an empty tree.
+     */
+    public static <T> int hash(BinaryNode<T> root) {
+        if (root == null) {
+            return 0;
+        }
+        // In pre-order every node comes before its children, so walking the list
+        // backwards hashes the children first
+        ArrayList<BinaryNode<T>> nodes = new ArrayList<>();
+        preOrderNodes(root, nodes);
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            BinaryNode<T> node = nodes.get(i);
+            int hash = Objects.hashCode(node.payload);
+            hash = 31 * hash + (node.left == null ? 17 : node.left.structuralHash);
+            hash = 31 * hash + (node.right == null ? 19 : node.right.structuralHash);
+            node.structuralHash = mix(hash);
+            node.hashed = true;
+        }
+        return root.structuralHash;
+    }
 
-        if (A.payload==B.payload){pay_val= true;} // set to whether the payloads are equal
-        if (A.left==null&&B.left==null){
-            side_val = true; // set the other indicator
-        } else if (A.left!=null&&B.left!=null){
-            side_val = equals(A.left, B.left);
-        } else {side_val = false;}
-        if (A.right==null&&B.right==null){
-            side_val = true;
-        } else if (A.right!=null&&B.right!=null){
-            side_val = equals(A.right, B.right);
-        } else {side_val = false;}
+    private static <T> void preOrderNodes(BinaryNode<T> root, List<BinaryNode<T>> nodes) {
+        ArrayDeque<BinaryNode<T>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            BinaryNode<T> current = stack.pop();
+            nodes.add(current);
+            if (current.right != null) { stack.push(current.right); }
+            if (current.left != null) { stack.push(current.left); }
+        }
+    }
 
-        return side_val&&pay_val; // return whether either are false
+    // Spreads the bits so that similar trees do not end up with similar hashes
+    static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        return hash ^ (hash >>> 16);
     }
 
     /**
@@ -145,12 +851,8 @@ public class BinaryTreeAlgorithms {
      * This algorithm does NOT assume the tree is a Binary Search Tree,
      * only that it is a Binary Tree.
      *
-     * Hint: This method is a bit harder than the ones above.
-     * Consider implementing some TreeAlgorithms first to get some more recursion practice.
-     *
-     * Hint: You can use the LinkedList::addAll method to append all the contents of
-     * another list to a list (like a join, but copies and is non-destructive).
-     * You may also use the LinkedList::addFirst method to push to the front of the list.
+     * Runs in O(n) time and O(depth) extra memory. Payloads are compared with equals.
+     * To answer many path queries against the same tree, build a BinaryPathIndex instead.
      *
      * @param root Root of the tree.
      * @param value The value to search for.
@@ -161,44 +863,35 @@ public class BinaryTreeAlgorithms {
      */
     public static <T> LinkedList<BinaryNode.Direction> path(BinaryNode<T> root, T value) {
         // Returns the directions that lead to the target value
-        LinkedList<BinaryNode.Direction> returnList = new LinkedList<>();
-        if (root==null){
+        // One pre-order pass with an explicit stack. trail[d] holds the node at depth d on the
+        // current root-to-node path, so once the value is found the directions can be read
+        // straight off the trail without searching any subtree twice.
+        if (root == null) {
             return null;
         }
-        if (root.payload==value){
-            // return empty if the value matches
-            return returnList;
-        }
-        if (root.left!=null){ // avoid NullPointerException
-            if (root.left.payload==value) {
-                // if the last node contained the value, add left to returnList
-                returnList.add(BinaryNode.Direction.left);
-                return returnList;
-            }
-            // Have to preview what is being returned first
-            // Unfortunately this means O(n^2)
-            LinkedList<BinaryNode.Direction> i = path(root.left, value);
-            if (i.size()>0){
-                // If that result was not empty, then add left to the front, then add the rest of the directions list
-                returnList.add(BinaryNode.Direction.left);
-                returnList.addAll(i);
+        NodeStack<BinaryNode<T>> stack = new NodeStack<>();
+        ArrayList<BinaryNode<T>> trail = new ArrayList<>();
+        stack.push(root, 0);
+        while (!stack.isEmpty()) {
+            int depth = stack.tag();
+            BinaryNode<T> current = stack.pop();
+            // Anything deeper on the trail belonged to a subtree we already finished
+            while (trail.size() > depth) {
+                trail.remove(trail.size() - 1);
             }
-        }
-
-        if (root.right!=null){ // avoid NPE
-            if (root.right.payload==value) {
-                // if the last node contained the value, add right to returnList
-                returnList.add(BinaryNode.Direction.right);
+            trail.add(current);
+            if (Objects.equals(current.payload, value)) {
+                LinkedList<BinaryNode.Direction> returnList = new LinkedList<>();
+                for (int i = 1; i < trail.size(); i++) {
+                    returnList.add(trail.get(i - 1).left == trail.get(i)
+                            ? BinaryNode.Direction.left : BinaryNode.Direction.right);
+                }
                 return returnList;
             }
-
-            LinkedList<BinaryNode.Direction> i = path(root.right, value);
-            if (i.size()>0){
-                returnList.add(BinaryNode.Direction.right);
-                returnList.addAll(i);
-            }
+            if (current.right != null) { stack.push(current.right, depth + 1); }
+            if (current.left != null) { stack.push(current.left, depth + 1); }
         }
-        // finally, return the list!
-        return returnList;
+        // finally, the value was not in the tree
+        return null;
     }
 }
@@ -0,0 +1,77 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazy iterator over the payloads of a binary tree.
+ * Nodes are only visited as the caller asks for them, so stopping after k elements
+ * costs O(k) time plus a stack no deeper than the tree.
+ * @param <T> Type of node payload.
+ */
+public class BinaryTreeIterator<T> implements Iterator<T> {
+    public enum Order {
+        preOrder,
+        inOrder,
+        postOrder
+    }
+
+    private final Order order;
+    private final ArrayDeque<BinaryNode<T>> stack = new ArrayDeque<>();
+    private BinaryNode<T> lastVisited;
+
+    public BinaryTreeIterator(BinaryNode<T> root, Order order) {
+        this.order = order;
+        if (root == null) {
+            return;
+        }
+        if (order == Order.preOrder) {
+            stack.push(root);
+        } else {
+            pushLeftSpine(root);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !stack.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (stack.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        switch (order) {
+            case preOrder: {
+                BinaryNode<T> current = stack.pop();
+                if (current.right != null) { stack.push(current.right); }
+                if (current.left != null) { stack.push(current.left); }
+                return current.payload;
+            }
+            case inOrder: {
+                BinaryNode<T> current = stack.pop();
+                pushLeftSpine(current.right);
+                return current.payload;
+            }
+            default: {
+                // The top of the stack is only emitted once its right subtree is done
+                BinaryNode<T> top = stack.peek();
+                while (top.right != null && top.right != lastVisited) {
+                    pushLeftSpine(top.right);
+                    top = stack.peek();
+                }
+                lastVisited = stack.pop();
+                return lastVisited.payload;
+            }
+        }
+    }
+
+    private void pushLeftSpine(BinaryNode<T> node) {
+        while (node != null) {
+            stack.push(node);
+            node = node.left;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * A read-only copy of a tree of Integers stored as columns of ints, in breadth first order.
+ *
+ * Node i has payload(i), and its children are the childCount(i) consecutive positions starting
+ * at firstChild(i); position 0 is the root. max, min, count, leaves and bfs become straight loops
+ * over int arrays, with no pointers to chase and no Integers to unbox, which the JIT can unroll
+ * and vectorize.
+ *
+ * The frozen copy does not see later changes to the original tree; freeze it again after updating.
+ */
+public class ColumnarTree {
+    private final int[] payloads;
+    private final int[] firstChild;
+    private final int[] childCount;
+
+    private ColumnarTree(int[] payloads, int[] firstChild, int[] childCount) {
+        this.payloads = payloads;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+    }
+
+    /**
+     * Copies a tree into columns in one breadth first pass.
+     * @param root Root of the tree; may be null for an empty snapshot.
+     * @return The frozen tree.
+     * @throws IllegalArgumentException If any payload is null.
+     */
+    public static ColumnarTree freeze(TreeNode<Integer> root) {
+        int capacity = 16;
+        int[] payloads = new int[capacity];
+        int[] firstChild = new int[capacity];
+        int[] childCount = new int[capacity];
+        int size = 0;
+        if (root != null) {
+            ArrayDeque<TreeNode<Integer>> queue = new ArrayDeque<>();
+            queue.add(root);
+            // Positions are handed out in queue order, so the next child to be queued gets position next
+            int next = 1;
+            while (!queue.isEmpty()) {
+                TreeNode<Integer> current = queue.remove();
+                if (size == capacity) {
+                    capacity *= 2;
+                    payloads = Arrays.copyOf(payloads, capacity);
+                    firstChild = Arrays.copyOf(firstChild, capacity);
+                    childCount = Arrays.copyOf(childCount, capacity);
+                }
+                if (current.payload == null) {
+                    throw new IllegalArgumentException("payloads must not be null");
+                }
+                int children = current.children == null ? 0 : current.children.size();
+                payloads[size] = current.payload;
+                firstChild[size] = next;
+                childCount[size] = children;
+                size++;
+                next += children;
+                if (children > 0) {
+                    queue.addAll(current.children);
+                }
+            }
+        }
+        return new ColumnarTree(Arrays.copyOf(payloads, size), Arrays.copyOf(firstChild, size),
+                Arrays.copyOf(childCount, size));
+    }
+
+    /**
+     * @return The number of nodes, as TreeAlgorithms::count.
+     */
+    public int count() {
+        return payloads.length;
+    }
+
+    /**
+     * @return The maximum payload, as TreeAlgorithms::max; null for an empty tree.
+     */
+    public Integer max() {
+        if (payloads.length == 0) {
+            return null;
+        }
+        int max = Integer.MIN_VALUE;
+        for (int payload : payloads) {
+            max = Math.max(max, payload);
+        }
+        return max;
+    }
+
+    /**
+     * @return The minimum payload, as TreeAlgorithms::min; null for an empty tree.
+     */
+    public Integer min() {
+        if (payloads.length == 0) {
+            return null;
+        }
+        int min = Integer.MAX_VALUE;
+        for (int payload : payloads) {
+            min = Math.min(min, payload);
+        }
+        return min;
+    }
+
+    /**
+     * @return The number of leaves, as the size of TreeAlgorithms::leaves.
+     */
+    public int leafCount() {
+        int leaves = 0;
+        for (int children : childCount) {
+            leaves += children == 0 ? 1 : 0;
+        }
+        return leaves;
+    }
+
+    /**
+     * @return The positions of the leaves, in breadth first order.
+     */
+    public int[] leaves() {
+        int[] leaves = new int[leafCount()];
+        int found = 0;
+        for (int i = 0; i < childCount.length; i++) {
+            if (childCount[i] == 0) {
+                leaves[found++] = i;
+            }
+        }
+        return leaves;
+    }
+
+    /**
+     * @return The payloads in breadth first order, as TreeAlgorithms::bfs.
+     */
+    public int[] bfs() {
+        return payloads.clone();
+    }
+
+    /**
+     * @return The payload of the node at a position.
+     */
+    public int payload(int position) {
+        return payloads[position];
+    }
+
+    /**
+     * @return The position of the node's first child; its children follow it consecutively.
+     */
+    public int firstChild(int position) {
+        return firstChild[position];
+    }
+
+    public int childCount(int position) {
+        return childCount[position];
+    }
+}
@@ -0,0 +1,48 @@
+package trees;
+
+import java.util.ArrayList;
+
+/**
+ * A TreeNode that starts out without a children list of its own.
+ *
+ * A plain TreeNode allocates an ArrayList for every node, and the list's first add allocates a
+ * backing array of 10, so a tree that is mostly leaves is mostly empty arrays. A compact node
+ * instead shares one empty list until it gets a child, and then grows from a capacity of 2.
+ * CompactTreeNode::compact applies the same treatment to an existing tree of any TreeNodes.
+ *
+ * A compact node is an ordinary TreeNode: getChild, addChild and TreeAlgorithms work unchanged.
+ * Code that adds to a leaf's children list directly gets an UnsupportedOperationException and
+ * should call addChild instead.
+ * @param <T> Type of value contained by the tree.
+ */
+public class CompactTreeNode<T> extends TreeNode<T> {
+    public CompactTreeNode(T payload) {
+        super(payload, TreeNode.<T>emptyChildren());
+    }
+
+    /**
+     * Shrinks every children list in a tree to fit: leaves share the empty list and other lists
+     * are trimmed to their size. Call it once a tree is built; later addChild calls still work.
+     * @param root Root of the tree; may be null.
+     * @param <T> Type of value contained by the tree.
+     */
+    public static <T> void compact(TreeNode<T> root) {
+        if (root == null) {
+            return;
+        }
+        NodeStack<TreeNode<T>> stack = new NodeStack<>();
+        stack.push(root, 0);
+        while (!stack.isEmpty()) {
+            TreeNode<T> current = stack.pop();
+            ArrayList<TreeNode<T>> children = current.children;
+            if (children == null || children.isEmpty()) {
+                current.children = TreeNode.emptyChildren();
+                continue;
+            }
+            children.trimToSize();
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i), 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A binary search tree of Integers that is safe to share between threads without a global lock.
+ *
+ * Child links are volatile and nodes are never removed or moved, so binarySearch and contains
+ * are plain lock-free reads. insert walks down without locking and claims an empty child slot
+ * with a compare-and-set; if another thread filled the slot first, it carries on down from there.
+ * A node is always fully built before it is published into the tree.
+ *
+ * Like BinaryTreeAlgorithms::insert this tree is not self-balancing.
+ */
+public class ConcurrentBinarySearchTree {
+    public static class Node {
+        public final Integer payload;
+        volatile Node left;
+        volatile Node right;
+
+        Node(Integer payload) {
+            this.payload = payload;
+        }
+
+        public Node getLeft() {
+            return left;
+        }
+
+        public Node getRight() {
+            return right;
+        }
+    }
+
+    private static final AtomicReferenceFieldUpdater<Node, Node> LEFT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "left");
+    private static final AtomicReferenceFieldUpdater<Node, Node> RIGHT =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "right");
+    private static final AtomicReferenceFieldUpdater<ConcurrentBinarySearchTree, Node> ROOT =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentBinarySearchTree.class, Node.class, "root");
+
+    private volatile Node root;
+    private final AtomicInteger size = new AtomicInteger();
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Conduct a binary search for a target value, without locking.
+     * @param value The value to search for.
+     * @return The node containing the value, or null if the value is not present in the tree.
+     */
+    public Node binarySearch(Integer value) {
+        Node current = root;
+        while (current != null) {
+            int compare = value.compareTo(current.payload);
+            if (compare == 0) {
+                return current;
+            }
+            current = compare < 0 ? current.left : current.right;
+        }
+        return null;
+    }
+
+    public boolean contains(Integer value) {
+        return binarySearch(value) != null;
+    }
+
+    /**
+     * Inserts an Integer value into the tree. Safe to call from many threads at once.
+     * @param value The value to insert.
+     * @return The node containing the newly inserted value, or an existing node with an equal value.
+     */
+    public Node insert(Integer value) {
+        Node created = null;
+        if (root == null) {
+            created = new Node(value);
+            if (ROOT.compareAndSet(this, null, created)) {
+                size.incrementAndGet();
+                return created;
+            }
+        }
+        Node current = root;
+        while (true) {
+            int compare = value.compareTo(current.payload);
+            if (compare == 0) {
+                return current;
+            }
+            AtomicReferenceFieldUpdater<Node, Node> slot = compare < 0 ? LEFT : RIGHT;
+            Node next = slot.get(current);
+            if (next == null) {
+                if (created == null) {
+                    created = new Node(value);
+                }
+                if (slot.compareAndSet(current, null, created)) {
+                    size.incrementAndGet();
+                    return created;
+                }
+                // Lost the race for this slot; whoever won is now the next node to compare against
+                next = slot.get(current);
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * Performs an in-order traversal. Values inserted concurrently may or may not be included.
+     * @return The values in ascending order.
+     */
+    public List<Integer> inOrder() {
+        List<Integer> returnList = new ArrayList<>();
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            returnList.add(current.payload);
+            current = current.right;
+        }
+        return returnList;
+    }
+}
@@ -0,0 +1,127 @@
+package trees;
+
+import java.util.Arrays;
+
+/**
+ * A read-only copy of an Integer binary search tree laid out in Eytzinger (breadth-first) order.
+ *
+ * The keys live in one int[] where the children of position k are at 2k and 2k + 1, so a search
+ * reads a single array instead of chasing a pointer per level, and the top levels of every search
+ * share the same few cache lines. Each position also keeps a reference to the node it was frozen
+ * from, so binarySearch returns the same node as BinaryTreeAlgorithms.binarySearch.
+ *
+ * The frozen copy does not see later changes to the original tree; freeze it again after updating.
+ */
+public class EytzingerTree {
+    public static final int NONE = -1;
+
+    // Position 0 is unused so that the children of k are 2k and 2k + 1
+    private final int[] keys;
+    private final BinaryNode<Integer>[] nodes;
+    private final int size;
+
+    @SuppressWarnings("unchecked")
+    private EytzingerTree(int size) {
+        this.size = size;
+        this.keys = new int[size + 1];
+        this.nodes = (BinaryNode<Integer>[]) new BinaryNode<?>[size + 1];
+    }
+
+    /**
+     * Copies a binary search tree into the Eytzinger layout.
+     * @param root Root of the binary search tree, may be null.
+     * @return The frozen tree.
+     * @throws IllegalArgumentException If the tree's in-order values are not strictly ascending.
+     */
+    public static EytzingerTree freeze(BinaryNode<Integer> root) {
+        // First pass: the nodes in sorted order
+        NodeStack<BinaryNode<Integer>> stack = new NodeStack<>();
+        BinaryNode<Integer>[] sorted = newArray(16);
+        int count = 0;
+        BinaryNode<Integer> current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current, 0);
+                current = current.left;
+            }
+            current = stack.pop();
+            if (count > 0 && sorted[count - 1].payload >= current.payload) {
+                throw new IllegalArgumentException("Not a binary search tree of distinct values at " + current.payload);
+            }
+            if (count == sorted.length) {
+                sorted = Arrays.copyOf(sorted, count * 2);
+            }
+            sorted[count++] = current;
+            current = current.right;
+        }
+
+        // Second pass: visiting the implicit positions in-order hands them out in ascending key order
+        EytzingerTree tree = new EytzingerTree(count);
+        int k = leftmost(1, count);
+        for (int i = 0; i < count; i++) {
+            tree.keys[k] = sorted[i].payload;
+            tree.nodes[k] = sorted[i];
+            if (2 * k + 1 <= count) {
+                k = leftmost(2 * k + 1, count);
+            } else {
+                // Climb past every position we were the right child of, then once more
+                k >>= Integer.numberOfTrailingZeros(~k) + 1;
+            }
+        }
+        return tree;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Searches for a value without data-dependent branches inside the loop.
+     * @param value The value to search for.
+     * @return The position holding the value, or NONE if it is not present.
+     */
+    public int indexOf(int value) {
+        int k = 1;
+        while (k <= size) {
+            k = 2 * k + (keys[k] < value ? 1 : 0);
+        }
+        // k has walked off the bottom; undo the trailing right turns and the final left turn
+        // to land on the smallest key that is >= value, or on 0 if there is none
+        k >>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k != 0 && keys[k] == value ? k : NONE;
+    }
+
+    /**
+     * Searches for a value.
+     * @param value The value to search for.
+     * @return The original node containing the value, or null if the value is not present in the tree.
+     */
+    public BinaryNode<Integer> binarySearch(Integer value) {
+        int k = indexOf(value);
+        return k == NONE ? null : nodes[k];
+    }
+
+    public boolean contains(int value) {
+        return indexOf(value) != NONE;
+    }
+
+    /**
+     * @param position A position returned by indexOf.
+     * @return The key stored at that position.
+     */
+    public int key(int position) {
+        return keys[position];
+    }
+
+    private static int leftmost(int k, int size) {
+        while (2 * k <= size) {
+            k *= 2;
+        }
+        return k;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BinaryNode<Integer>[] newArray(int length) {
+        return (BinaryNode<Integer>[]) new BinaryNode<?>[length];
+    }
+}
@@ -0,0 +1,157 @@
+package trees;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A binary search tree of primitive ints, stored as parallel int arrays instead of node objects.
+ * Node i has key keys[i] and children left[i] and right[i] (NONE when absent); node 0 is the root.
+ * There is no boxing on insert or search, and the whole tree is three arrays as far as the GC is concerned.
+ *
+ * Like BinaryTreeAlgorithms::insert this tree is not self-balancing.
+ */
+public class IntBinarySearchTree {
+    public static final int NONE = -1;
+
+    private int[] keys;
+    private int[] left;
+    private int[] right;
+    private int size;
+
+    public IntBinarySearchTree() {
+        this(16);
+    }
+
+    /**
+     * @param capacity Number of nodes to allocate room for up front.
+     */
+    public IntBinarySearchTree(int capacity) {
+        capacity = Math.max(capacity, 1);
+        keys = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param node A node index returned by insert or binarySearch.
+     * @return The key stored in that node.
+     */
+    public int key(int node) {
+        return keys[node];
+    }
+
+    /**
+     * Inserts a value into the tree.
+     * @param value The value to insert.
+     * @return The index of the node containing the newly inserted value, or of an existing node with an equal value.
+     */
+    public int insert(int value) {
+        if (size == 0) {
+            return newNode(value);
+        }
+        int current = 0;
+        while (true) {
+            int key = keys[current];
+            if (value == key) {
+                return current;
+            }
+            if (value < key) {
+                if (left[current] == NONE) {
+                    int node = newNode(value);
+                    left[current] = node;
+                    return node;
+                }
+                current = left[current];
+            } else {
+                if (right[current] == NONE) {
+                    int node = newNode(value);
+                    right[current] = node;
+                    return node;
+                }
+                current = right[current];
+            }
+        }
+    }
+
+    /**
+     * Searches the tree for a value.
+     * @param value The value to search for.
+     * @return The index of the node containing the value, or NONE if the value is not present.
+     */
+    public int binarySearch(int value) {
+        int current = size == 0 ? NONE : 0;
+        while (current != NONE) {
+            int key = keys[current];
+            if (value == key) {
+                return current;
+            }
+            current = value < key ? left[current] : right[current];
+        }
+        return NONE;
+    }
+
+    public boolean contains(int value) {
+        return binarySearch(value) != NONE;
+    }
+
+    /**
+     * Performs an in-order traversal, handing each key to a sink.
+     * @param sink Receives the keys in ascending order.
+     */
+    public void inOrder(IntConsumer sink) {
+        if (size == 0) {
+            return;
+        }
+        int[] stack = new int[16];
+        int top = 0;
+        int current = 0;
+        while (current != NONE || top > 0) {
+            while (current != NONE) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = current;
+                current = left[current];
+            }
+            current = stack[--top];
+            sink.accept(keys[current]);
+            current = right[current];
+        }
+    }
+
+    /**
+     * @return The keys in ascending order.
+     */
+    public int[] inOrder() {
+        int[] result = new int[size];
+        int[] index = {0};
+        inOrder(key -> result[index[0]++] = key);
+        return result;
+    }
+
+    /**
+     * Shrinks the backing arrays to exactly the number of nodes in the tree.
+     */
+    public void trimToSize() {
+        keys = Arrays.copyOf(keys, Math.max(size, 1));
+        left = Arrays.copyOf(left, keys.length);
+        right = Arrays.copyOf(right, keys.length);
+    }
+
+    private int newNode(int value) {
+        if (size == keys.length) {
+            int capacity = size + (size >> 1) + 1;
+            keys = Arrays.copyOf(keys, capacity);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+        }
+        keys[size] = value;
+        left[size] = NONE;
+        right[size] = NONE;
+        return size++;
+    }
+}
@@ -0,0 +1,95 @@
+package trees;
+
+/**
+ * An open-addressing hash map from int keys to nodes, with linear probing.
+ * Keys are stored unboxed in an int[], so a lookup costs no allocation and touches two arrays
+ * instead of an Integer, a HashMap.Node and the key's hashCode.
+ * @param <N> Type of node stored; nodes are never null, which lets null mark an empty slot.
+ */
+class IntNodeMap<N> {
+    private int[] keys;
+    private Object[] nodes;
+    private int size;
+
+    IntNodeMap() {
+        this(16);
+    }
+
+    IntNodeMap(int expected) {
+        // Keep the table at most half full so probe runs stay short
+        int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+        keys = new int[capacity];
+        nodes = new Object[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The node stored under key, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    N get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = BinaryTreeAlgorithms.mix(key) & mask; nodes[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (N) nodes[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores a node under key unless the key already has one.
+     * @return The node already stored under key, or null if node was stored.
+     */
+    N putIfAbsent(int key, N node) {
+        N existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        if (2 * (size + 1) > keys.length) {
+            resize();
+        }
+        insert(key, node);
+        size++;
+        return null;
+    }
+
+    /**
+     * Stores a node under key, replacing any node already there.
+     */
+    void put(int key, N node) {
+        int mask = keys.length - 1;
+        for (int slot = BinaryTreeAlgorithms.mix(key) & mask; nodes[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                nodes[slot] = node;
+                return;
+            }
+        }
+        putIfAbsent(key, node);
+    }
+
+    private void insert(int key, Object node) {
+        int mask = keys.length - 1;
+        int slot = BinaryTreeAlgorithms.mix(key) & mask;
+        while (nodes[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        nodes[slot] = node;
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldNodes = nodes;
+        keys = new int[oldKeys.length * 2];
+        nodes = new Object[oldNodes.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldNodes[i] != null) {
+                insert(oldKeys[i], oldNodes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A reusable breadth first walker that hands a tree over one level at a time.
+ *
+ * The queue (an ArrayDeque ring buffer) and the level buffers are kept between calls,
+ * so once they have grown to the widest level seen, walking a tree allocates nothing.
+ * An instance is not thread safe; use one per thread.
+ */
+public class LevelOrder {
+    /**
+     * Receives one level of an Integer tree.
+     */
+    public interface IntLevelConsumer {
+        /**
+         * @param depth Depth of the level; the root is at depth 0.
+         * @param payloads Buffer holding the level's payloads, left to right, in [0, length).
+         *                 It is reused for the next level, so copy what you need to keep.
+         * @param length Number of payloads in this level.
+         */
+        void accept(int depth, int[] payloads, int length);
+    }
+
+    private final ArrayDeque<TreeNode<?>> queue = new ArrayDeque<>();
+    private final ArrayList<Object> level = new ArrayList<>();
+    private int[] intLevel = new int[16];
+
+    /**
+     * Walks a tree level by level.
+     * @param root Root of the tree.
+     * @param maxDepth Deepest level to visit (0 visits only the root); Integer.MAX_VALUE for no limit.
+     * @param consumer Receives each level's payloads, left to right. The list is reused for the
+     *                 next level, so copy it to keep it.
+     * @param <T> Type of value contained by the tree.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void forEachLevel(TreeNode<T> root, int maxDepth, Consumer<? super List<T>> consumer) {
+        queue.clear();
+        if (root != null) {
+            queue.add(root);
+        }
+        for (int depth = 0; depth <= maxDepth && !queue.isEmpty(); depth++) {
+            level.clear();
+            boolean expand = depth < maxDepth;
+            for (int remaining = queue.size(); remaining > 0; remaining--) {
+                TreeNode<T> current = (TreeNode<T>) queue.removeFirst();
+                level.add(current.payload);
+                if (expand && current.children != null) {
+                    queue.addAll(current.children);
+                }
+            }
+            consumer.accept((List<T>) (List<?>) level);
+        }
+        level.clear();
+        queue.clear();
+    }
+
+    /**
+     * Walks an Integer tree level by level, handing each level over as a primitive int array.
+     * @param root Root of the tree.
+     * @param maxDepth Deepest level to visit (0 visits only the root); Integer.MAX_VALUE for no limit.
+     * @param consumer Receives each level.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachIntLevel(TreeNode<Integer> root, int maxDepth, IntLevelConsumer consumer) {
+        queue.clear();
+        if (root != null) {
+            queue.add(root);
+        }
+        for (int depth = 0; depth <= maxDepth && !queue.isEmpty(); depth++) {
+            int length = queue.size();
+            if (length > intLevel.length) {
+                intLevel = Arrays.copyOf(intLevel, Math.max(length, intLevel.length * 2));
+            }
+            boolean expand = depth < maxDepth;
+            for (int i = 0; i < length; i++) {
+                TreeNode<Integer> current = (TreeNode<Integer>) queue.removeFirst();
+                intLevel[i] = current.payload;
+                if (expand && current.children != null) {
+                    queue.addAll(current.children);
+                }
+            }
+            consumer.accept(depth, intLevel, length);
+        }
+        queue.clear();
+    }
+}
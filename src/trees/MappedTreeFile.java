@@ -0,0 +1,196 @@
+package trees;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A read-only view of an Integer tree file written by TreeFiles, memory mapped with FileChannel::map.
+ *
+ * Opening the file only maps it; no nodes are created. count, max and min scan the payload
+ * column directly. For binary trees, inOrder and binarySearch navigate the pre-order layout:
+ * a node's left child is the next node, and right children are found through an int index
+ * built from the structure bits on first use.
+ *
+ * A single mapping is limited to 2 GB, or roughly 500 million nodes.
+ */
+public class MappedTreeFile {
+    public static final int NONE = -1;
+
+    private final MappedByteBuffer buffer;
+    private final IntBuffer payloads;
+    private final boolean binary;
+    private final int count;
+    private final int structureOffset;
+    private int[] rightChild;
+
+    private MappedTreeFile(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < TreeFiles.HEADER_BYTES) {
+            throw new IOException("not a tree file: shorter than the header");
+        }
+        if (buffer.getInt(0) != TreeFiles.MAGIC) {
+            throw new IOException("not a tree file");
+        }
+        if (buffer.get(5) != TreeFiles.PAYLOAD_INT) {
+            throw new IOException("only trees with Integer payloads can be mapped");
+        }
+        this.binary = buffer.get(4) == TreeFiles.KIND_BINARY;
+        this.count = buffer.getInt(6);
+        long structureOffset = buffer.getLong(10);
+        if (count < 0 || TreeFiles.HEADER_BYTES + 4L * count > structureOffset
+                || structureOffset + TreeFiles.structureBytes(buffer.get(4), count) > buffer.capacity()) {
+            throw new IOException("tree file is truncated or its header is corrupt");
+        }
+        this.structureOffset = (int) structureOffset;
+        buffer.position(TreeFiles.HEADER_BYTES);
+        this.payloads = buffer.slice().asIntBuffer();
+        this.payloads.limit(count);
+    }
+
+    /**
+     * Maps a tree file into memory.
+     * @param file A file written by TreeFiles::write with Integer payloads.
+     * @return A read-only view of the file.
+     * @throws IOException If the file cannot be read, is not a tree file with Integer payloads, or is
+     *                     truncated, including inside its structure bits.
+     */
+    public static MappedTreeFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new MappedTreeFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public boolean isBinary() {
+        return binary;
+    }
+
+    /**
+     * @return The number of nodes in the tree.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @param node A node's pre-order position.
+     * @return The payload stored at that position.
+     */
+    public int payload(int node) {
+        return payloads.get(node);
+    }
+
+    /**
+     * @return The maximum payload in the tree; null if the tree is empty.
+     */
+    public Integer max() {
+        if (count == 0) { return null; }
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, payloads.get(i));
+        }
+        return max;
+    }
+
+    /**
+     * @return The minimum payload in the tree; null if the tree is empty.
+     */
+    public Integer min() {
+        if (count == 0) { return null; }
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, payloads.get(i));
+        }
+        return min;
+    }
+
+    /**
+     * Performs an in-order traversal of a mapped binary tree.
+     * @param sink Receives the payloads in traversal order.
+     */
+    public void inOrder(IntConsumer sink) {
+        requireBinary();
+        int[] stack = new int[16];
+        int top = 0;
+        int current = count == 0 ? NONE : 0;
+        while (current != NONE || top > 0) {
+            while (current != NONE) {
+                if (top == stack.length) {
+                    stack = Arrays.copyOf(stack, top * 2);
+                }
+                stack[top++] = current;
+                current = left(current);
+            }
+            current = stack[--top];
+            sink.accept(payloads.get(current));
+            current = right(current);
+        }
+    }
+
+    /**
+     * Conducts a binary search on a mapped binary search tree.
+     * @param value The value to search for.
+     * @return The pre-order position of the node containing the value, or NONE if it is not present.
+     */
+    public int binarySearch(int value) {
+        requireBinary();
+        int current = count == 0 ? NONE : 0;
+        while (current != NONE) {
+            int payload = payloads.get(current);
+            if (payload == value) {
+                return current;
+            }
+            current = value < payload ? left(current) : right(current);
+        }
+        return NONE;
+    }
+
+    private int left(int node) {
+        return bit(2L * node) ? node + 1 : NONE;
+    }
+
+    private int right(int node) {
+        if (rightChild == null) {
+            indexRightChildren();
+        }
+        return rightChild[node];
+    }
+
+    private boolean bit(long index) {
+        return (buffer.get(structureOffset + (int) (index >>> 3)) & (1 << (index & 7))) != 0;
+    }
+
+    // One pass over the structure bits, pairing each node that has a right child with the
+    // node that starts its right subtree
+    private void indexRightChildren() {
+        int[] index = new int[count];
+        Arrays.fill(index, NONE);
+        int[] waiting = new int[16];
+        int top = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && !bit(2L * (i - 1))) {
+                // The previous node had no left child, so this node is someone's right child
+                index[waiting[--top]] = i;
+            }
+            if (bit(2L * i + 1)) {
+                if (top == waiting.length) {
+                    waiting = Arrays.copyOf(waiting, top * 2);
+                }
+                waiting[top++] = i;
+            }
+        }
+        rightChild = index;
+    }
+
+    private void requireBinary() {
+        if (!binary) {
+            throw new UnsupportedOperationException("only binary trees support this operation");
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package trees;
+
+import java.util.Arrays;
+
+/**
+ * A growable array-backed stack of nodes, each paired with an int tag that the walk using it
+ * defines: a depth, the index of the next child to visit, a parent id and so on.
+ * Used in place of the call stack so that very deep trees can be walked iteratively.
+ * @param <N> Type of node stored.
+ */
+class NodeStack<N> {
+    private Object[] nodes;
+    private int[] tags;
+    private int size;
+
+    NodeStack() {
+        this(16);
+    }
+
+    NodeStack(int capacity) {
+        nodes = new Object[Math.max(capacity, 1)];
+        tags = new int[nodes.length];
+    }
+
+    void push(N node, int tag) {
+        if (size == nodes.length) {
+            nodes = Arrays.copyOf(nodes, size * 2);
+            tags = Arrays.copyOf(tags, size * 2);
+        }
+        nodes[size] = node;
+        tags[size] = tag;
+        size++;
+    }
+
+    /**
+     * @return The tag pushed with the node on top of the stack.
+     */
+    int tag() {
+        return tags[size - 1];
+    }
+
+    /**
+     * @param index Position from the bottom of the stack, 0 being the first node pushed.
+     * @return The node at that position.
+     */
+    @SuppressWarnings("unchecked")
+    N get(int index) {
+        return (N) nodes[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    N peek() {
+        return (N) nodes[size - 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    N pop() {
+        size--;
+        N node = (N) nodes[size];
+        nodes[size] = null; // let the node be collected once we are done with it
+        return node;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(nodes, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Moves the bottom half of this stack into a new stack.
+     * The bottom entries are the ones closest to the root, so they tend to carry the most work.
+     * @return A new stack holding the removed entries.
+     */
+    NodeStack<N> splitBottomHalf() {
+        int half = size / 2;
+        NodeStack<N> other = new NodeStack<>(half);
+        System.arraycopy(nodes, 0, other.nodes, 0, half);
+        System.arraycopy(tags, 0, other.tags, 0, half);
+        other.size = half;
+
+        System.arraycopy(nodes, half, nodes, 0, size - half);
+        System.arraycopy(tags, half, tags, 0, size - half);
+        Arrays.fill(nodes, size - half, size, null);
+        size -= half;
+        return other;
+    }
+}
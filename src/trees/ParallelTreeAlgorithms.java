@@ -0,0 +1,221 @@
+package trees;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join versions of the TreeAlgorithms aggregates.
+ *
+ * Each task walks its share of the tree with an explicit stack. Once it has visited
+ * threshold nodes and still has pending subtrees, it forks the half of its stack
+ * closest to the root off as a new task. Subtrees smaller than the threshold are
+ * therefore always handled sequentially by one task.
+ */
+public class ParallelTreeAlgorithms {
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    /**
+     * Finds the maximum Integer in a tree using the common fork-join pool.
+     * @param root Root of the tree.
+     * @return The maximum Integer contained in the tree; null if the root is null.
+     */
+    public static Integer max(TreeNode<Integer> root) {
+        return max(root, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Finds the maximum Integer in a tree.
+     * @param root Root of the tree.
+     * @param pool Pool to run the tasks in.
+     * @param threshold Number of nodes a task visits before it splits off pending work.
+     * @return The maximum Integer contained in the tree; null if the root is null.
+     */
+    public static Integer max(TreeNode<Integer> root, ForkJoinPool pool, int threshold) {
+        if (root == null) { return null; }
+        return pool.invoke(new MaxTask(start(root), threshold));
+    }
+
+    /**
+     * Finds the minimum Integer in a tree using the common fork-join pool.
+     * @param root Root of the tree.
+     * @return The minimum Integer contained in the tree; null if the root is null.
+     */
+    public static Integer min(TreeNode<Integer> root) {
+        return min(root, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Finds the minimum Integer in a tree.
+     * @param root Root of the tree.
+     * @param pool Pool to run the tasks in.
+     * @param threshold Number of nodes a task visits before it splits off pending work.
+     * @return The minimum Integer contained in the tree; null if the root is null.
+     */
+    public static Integer min(TreeNode<Integer> root, ForkJoinPool pool, int threshold) {
+        if (root == null) { return null; }
+        return pool.invoke(new MinTask(start(root), threshold));
+    }
+
+    /**
+     * Counts the number of nodes in a tree using the common fork-join pool.
+     * @param root Root of the tree.
+     * @return The number of nodes; 0 if the root is null.
+     */
+    public static <T> int count(TreeNode<T> root) {
+        return count(root, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Counts the number of nodes in a tree.
+     * @param root Root of the tree.
+     * @param pool Pool to run the tasks in.
+     * @param threshold Number of nodes a task visits before it splits off pending work.
+     * @return The number of nodes; 0 if the root is null.
+     */
+    public static <T> int count(TreeNode<T> root, ForkJoinPool pool, int threshold) {
+        if (root == null) { return 0; }
+        return pool.invoke(new CountTask<>(start(root), threshold));
+    }
+
+    /**
+     * Computes the depth (height) of a tree using the common fork-join pool.
+     * @param root Root of the tree.
+     * @return The depth (height) of the tree, with the same meaning as TreeAlgorithms::depth.
+     */
+    public static <T> int depth(TreeNode<T> root) {
+        return depth(root, ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Computes the depth (height) of a tree.
+     * @param root Root of the tree.
+     * @param pool Pool to run the tasks in.
+     * @param threshold Number of nodes a task visits before it splits off pending work.
+     * @return The depth (height) of the tree, with the same meaning as TreeAlgorithms::depth.
+     */
+    public static <T> int depth(TreeNode<T> root, ForkJoinPool pool, int threshold) {
+        if (root == null) { return 0; }
+        return pool.invoke(new DepthTask<>(start(root), threshold));
+    }
+
+    private static <T> NodeStack<TreeNode<T>> start(TreeNode<T> root) {
+        NodeStack<TreeNode<T>> stack = new NodeStack<>();
+        stack.push(root, 0);
+        return stack;
+    }
+
+    /**
+     * Walks the nodes reachable from a stack, visiting each once and splitting off
+     * work for other threads every threshold nodes.
+     */
+    private static abstract class AggregateTask<T, R> extends RecursiveTask<R> {
+        private static final long serialVersionUID = 1L;
+
+        private final NodeStack<TreeNode<T>> stack;
+        private final int threshold;
+
+        AggregateTask(NodeStack<TreeNode<T>> stack, int threshold) {
+            this.stack = stack;
+            this.threshold = Math.max(threshold, 1);
+        }
+
+        abstract AggregateTask<T, R> split(NodeStack<TreeNode<T>> stack, int threshold);
+
+        abstract void visit(TreeNode<T> node, int depth);
+
+        abstract R result();
+
+        abstract R combine(R a, R b);
+
+        @Override
+        protected R compute() {
+            List<AggregateTask<T, R>> forked = new ArrayList<>();
+            int visited = 0;
+            while (!stack.isEmpty()) {
+                if (visited >= threshold && stack.size() > 1) {
+                    AggregateTask<T, R> task = split(stack.splitBottomHalf(), threshold);
+                    task.fork();
+                    forked.add(task);
+                    visited = 0;
+                }
+                int depth = stack.tag();
+                TreeNode<T> node = stack.pop();
+                visit(node, depth);
+                visited++;
+                if (node.children != null) {
+                    for (TreeNode<T> child : node.children) {
+                        stack.push(child, depth + 1);
+                    }
+                }
+            }
+            R result = result();
+            for (AggregateTask<T, R> task : forked) {
+                result = combine(result, task.join());
+            }
+            return result;
+        }
+    }
+
+    private static class MaxTask extends AggregateTask<Integer, Integer> {
+        private static final long serialVersionUID = 1L;
+        private int max = Integer.MIN_VALUE;
+
+        MaxTask(NodeStack<TreeNode<Integer>> stack, int threshold) { super(stack, threshold); }
+
+        MaxTask split(NodeStack<TreeNode<Integer>> stack, int threshold) { return new MaxTask(stack, threshold); }
+
+        void visit(TreeNode<Integer> node, int depth) { max = Math.max(max, node.payload); }
+
+        Integer result() { return max; }
+
+        Integer combine(Integer a, Integer b) { return Math.max(a, b); }
+    }
+
+    private static class MinTask extends AggregateTask<Integer, Integer> {
+        private static final long serialVersionUID = 1L;
+        private int min = Integer.MAX_VALUE;
+
+        MinTask(NodeStack<TreeNode<Integer>> stack, int threshold) { super(stack, threshold); }
+
+        MinTask split(NodeStack<TreeNode<Integer>> stack, int threshold) { return new MinTask(stack, threshold); }
+
+        void visit(TreeNode<Integer> node, int depth) { min = Math.min(min, node.payload); }
+
+        Integer result() { return min; }
+
+        Integer combine(Integer a, Integer b) { return Math.min(a, b); }
+    }
+
+    private static class CountTask<T> extends AggregateTask<T, Integer> {
+        private static final long serialVersionUID = 1L;
+        private int count;
+
+        CountTask(NodeStack<TreeNode<T>> stack, int threshold) { super(stack, threshold); }
+
+        CountTask<T> split(NodeStack<TreeNode<T>> stack, int threshold) { return new CountTask<>(stack, threshold); }
+
+        void visit(TreeNode<T> node, int depth) { count++; }
+
+        Integer result() { return count; }
+
+        Integer combine(Integer a, Integer b) { return a + b; }
+    }
+
+    private static class DepthTask<T> extends AggregateTask<T, Integer> {
+        private static final long serialVersionUID = 1L;
+        private int deepest;
+
+        DepthTask(NodeStack<TreeNode<T>> stack, int threshold) { super(stack, threshold); }
+
+        DepthTask<T> split(NodeStack<TreeNode<T>> stack, int threshold) { return new DepthTask<>(stack, threshold); }
+
+        // The depth of a tree is the depth of its deepest node
+        void visit(TreeNode<T> node, int depth) { deepest = Math.max(deepest, depth); }
+
+        Integer result() { return deepest; }
+
+        Integer combine(Integer a, Integer b) { return Math.max(a, b); }
+    }
+}
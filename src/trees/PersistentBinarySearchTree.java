@@ -0,0 +1,192 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, balanced (AVL) binary search tree of Integers.
+ *
+ * insert and delete never change an existing tree: they return a new tree that copies only the
+ * O(log n) nodes on the path to the change and shares every other subtree with the old one.
+ * Any tree value is therefore a consistent snapshot that readers can use without locks, and
+ * taking a snapshot is just keeping a reference.
+ */
+public class PersistentBinarySearchTree {
+    public static final class Node {
+        public final Integer payload;
+        public final Node left;
+        public final Node right;
+        final int height;
+        final int size;
+
+        Node(Integer payload, Node left, Node right) {
+            this.payload = payload;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+
+    private static final PersistentBinarySearchTree EMPTY = new PersistentBinarySearchTree(null);
+
+    private final Node root;
+
+    private PersistentBinarySearchTree(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * @return The empty tree.
+     */
+    public static PersistentBinarySearchTree empty() {
+        return EMPTY;
+    }
+
+    public Node getRoot() {
+        return root;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public int height() {
+        return height(root);
+    }
+
+    /**
+     * Searches for a value.
+     * @param value The value to search for.
+     * @return The node containing the value, or null if the value is not present in the tree.
+     */
+    public Node binarySearch(Integer value) {
+        Node current = root;
+        while (current != null) {
+            int compare = value.compareTo(current.payload);
+            if (compare == 0) {
+                return current;
+            }
+            current = compare < 0 ? current.left : current.right;
+        }
+        return null;
+    }
+
+    public boolean contains(Integer value) {
+        return binarySearch(value) != null;
+    }
+
+    /**
+     * Returns a tree that also holds value. This tree is left unchanged.
+     * @param value The value to insert.
+     * @return The new tree, or this tree if value was already present.
+     */
+    public PersistentBinarySearchTree insert(Integer value) {
+        Node updated = insert(root, value);
+        return updated == root ? this : new PersistentBinarySearchTree(updated);
+    }
+
+    /**
+     * Returns a tree without value. This tree is left unchanged.
+     * @param value The value to remove.
+     * @return The new tree, or this tree if value was not present.
+     */
+    public PersistentBinarySearchTree delete(Integer value) {
+        Node updated = delete(root, value);
+        if (updated == root) {
+            return this;
+        }
+        return updated == null ? EMPTY : new PersistentBinarySearchTree(updated);
+    }
+
+    /**
+     * Performs an in-order traversal, handing each value to a sink.
+     * @param sink Receives the values in ascending order.
+     */
+    public void inOrder(Consumer<? super Integer> sink) {
+        ArrayDeque<Node> stack = new ArrayDeque<>();
+        Node current = root;
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            current = stack.pop();
+            sink.accept(current.payload);
+            current = current.right;
+        }
+    }
+
+    private static Node insert(Node node, Integer value) {
+        if (node == null) {
+            return new Node(value, null, null);
+        }
+        int compare = value.compareTo(node.payload);
+        if (compare == 0) {
+            return node;
+        }
+        if (compare < 0) {
+            Node left = insert(node.left, value);
+            return left == node.left ? node : balance(node.payload, left, node.right);
+        }
+        Node right = insert(node.right, value);
+        return right == node.right ? node : balance(node.payload, node.left, right);
+    }
+
+    private static Node delete(Node node, Integer value) {
+        if (node == null) {
+            return null;
+        }
+        int compare = value.compareTo(node.payload);
+        if (compare < 0) {
+            Node left = delete(node.left, value);
+            return left == node.left ? node : balance(node.payload, left, node.right);
+        }
+        if (compare > 0) {
+            Node right = delete(node.right, value);
+            return right == node.right ? node : balance(node.payload, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        // Two children: the in-order successor's value takes this node's place
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.payload, node.left, delete(node.right, successor.payload));
+    }
+
+    // Builds a node from two AVL subtrees whose heights differ by at most 2, rotating if needed
+    private static Node balance(Integer payload, Node left, Node right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node(left.payload, left.left, new Node(payload, left.right, right));
+            }
+            return new Node(left.right.payload,
+                    new Node(left.payload, left.left, left.right.left),
+                    new Node(payload, left.right.right, right));
+        }
+        if (difference < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node(right.payload, new Node(payload, left, right.left), right.right);
+            }
+            return new Node(right.left.payload,
+                    new Node(payload, left, right.left.left),
+                    new Node(right.payload, right.left.right, right.right));
+        }
+        return new Node(payload, left, right);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
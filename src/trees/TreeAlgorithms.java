@@ -1,86 +1,186 @@
 package trees;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TreeAlgorithms {
     /**
      * Finds the maximum Integer in a tree.
+     * Walks the tree with an explicit stack, so arbitrarily deep trees do not overflow the call stack.
      * @param root Root of the tree.
      * @return The maximum Integer contained in the tree; null if the root is null.
      */
     public static Integer max(TreeNode<Integer> root) {
         // Returns the max value in the whole tree.
         if (root == null) { return null; }
-        Integer max_val = root.payload;
-        if (root.children == null){
-            // If the node has no children, return the node value
-            return root.payload;
-        }
+        if (root instanceof AggregateTreeNode) { return ((AggregateTreeNode) root).max(); }
         // This solution has a O(n) at worst because we have to check each node.
-        for (TreeNode<Integer> child : root.children){
-            // Compare the returned value to the current max value
-            max_val = Math.max(max(child), max_val);
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        int visits = 1;
+        int max_val = root.payload;
+        // The node whose children are being visited and the next child's index are kept in locals;
+        // the stack only holds the ancestors above them, each with where to resume
+        NodeStack<TreeNode<Integer>> stack = new NodeStack<>();
+        TreeNode<Integer> parent = root;
+        int index = 0;
+        while (true) {
+            ArrayList<TreeNode<Integer>> children = parent.children;
+            if (children == null || index >= children.size()) {
+                if (stack.isEmpty()) { break; }
+                index = stack.tag();
+                parent = stack.pop();
+                continue;
+            }
+            TreeNode<Integer> child = children.get(index++);
+            visits++;
+            if (child instanceof AggregateTreeNode) {
+                // The whole subtree's max is already known
+                max_val = Math.max(max_val, ((AggregateTreeNode) child).max());
+                continue;
+            }
+            max_val = Math.max(max_val, child.payload);
+            if (childCount(child) > 0) {
+                stack.push(parent, index);
+                parent = child;
+                index = 0;
+            }
+        }
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.max, visits, startNanos);
         }
         return max_val;
     }
 
     /**
      * Finds the minimum Integer in a tree.
+     * Walks the tree with an explicit stack, so arbitrarily deep trees do not overflow the call stack.
      * @param root Root of the tree.
      * @return The minimum Integer contained in the tree; null if the root is null.
      */
     public static Integer min(TreeNode<Integer> root) {
         // Finds the minimum value of the entire tree
         if (root == null) { return null; }
-        if (root.children == null){
-            return root.payload;
+        if (root instanceof AggregateTreeNode) { return ((AggregateTreeNode) root).min(); }
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        int visits = 1;
+        int min_val = root.payload;
+        NodeStack<TreeNode<Integer>> stack = new NodeStack<>();
+        TreeNode<Integer> parent = root;
+        int index = 0;
+        while (true) {
+            ArrayList<TreeNode<Integer>> children = parent.children;
+            if (children == null || index >= children.size()) {
+                if (stack.isEmpty()) { break; }
+                index = stack.tag();
+                parent = stack.pop();
+                continue;
+            }
+            TreeNode<Integer> child = children.get(index++);
+            visits++;
+            if (child instanceof AggregateTreeNode) {
+                min_val = Math.min(min_val, ((AggregateTreeNode) child).min());
+                continue;
+            }
+            min_val = Math.min(min_val, child.payload);
+            if (childCount(child) > 0) {
+                stack.push(parent, index);
+                parent = child;
+                index = 0;
+            }
         }
-        Integer min_val = root.payload;
-        for (TreeNode<Integer> child : root.children){
-            // Compares the returned value to the current min value
-            min_val = Math.min(min(child), min_val);
-            // Need to differentiate between math.min() vs min()
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.min, visits, startNanos);
         }
         return min_val;
     }
 
     /**
      * Finds all the tree leaves (nodes with no children) in a tree.
+     * A node whose children list is null counts as a leaf.
      * @param root Root of the tree.
-     * @return A LinkedList of leaf TreeNodes from the tree.
+     * @return A LinkedList of leaf TreeNodes from the tree, left to right.
      */
     public static LinkedList<TreeNode<Integer>> leaves(TreeNode<Integer> root) {
         // Returns only nodes with no children i.e. only the leaves
         LinkedList<TreeNode<Integer>> returnList= new LinkedList<>();
         if (root == null ) { return returnList; }
-        if (root.children.size()==0){
-            // If no children exist, this is a leaf, so add to the return list
-            returnList.add(root);
-            return returnList;
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        long startBytes = TreeMetrics.ENABLED ? TreeMetrics.allocatedBytes() : 0;
+        int visits = 1;
+        if (childCount(root) == 0) {
+            returnList.add(root); // the walk below only looks at children, so it then does nothing
+        }
+        NodeStack<TreeNode<Integer>> stack = new NodeStack<>();
+        TreeNode<Integer> parent = root;
+        int index = 0;
+        while (true) {
+            ArrayList<TreeNode<Integer>> children = parent.children;
+            if (children == null || index >= children.size()) {
+                if (stack.isEmpty()) { break; }
+                index = stack.tag();
+                parent = stack.pop();
+                continue;
+            }
+            TreeNode<Integer> child = children.get(index++);
+            visits++;
+            if (childCount(child) == 0) {
+                // If no children exist, this is a leaf, so add to the return list
+                returnList.add(child);
+            } else {
+                stack.push(parent, index);
+                parent = child;
+                index = 0;
+            }
         }
-        for (TreeNode<Integer> child : root.children){
-            // recurse through all the children
-            returnList.addAll(leaves(child));
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.leaves, visits, startNanos, startBytes);
         }
         return returnList;
     }
 
     /**
      * Counts the number of nodes in a tree.
+     * Walks the tree with an explicit stack, so arbitrarily deep trees do not overflow the call stack.
      * @param root Root of the tree.
-     * @return
+     * @return The number of nodes in the tree; 0 if the root is null.
      */
     public static int count(TreeNode<Integer> root) {
         // Counts the number of nodes in the entire tree
         // By virtue of the purpose of this method it has to be O(n)
-        int nodeNumber = 0;
         if (root == null){return 0;}
-        // If no children exist then just return one for the root.
-        if (root.children.size()==0){return 1;}
-        for (TreeNode<Integer> child : root.children){
-            nodeNumber = nodeNumber + count(child);
+        if (root instanceof AggregateTreeNode) { return ((AggregateTreeNode) root).size(); }
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        int visits = 1;
+        int nodeNumber = 1; // the root
+        NodeStack<TreeNode<Integer>> stack = new NodeStack<>();
+        TreeNode<Integer> parent = root;
+        int index = 0;
+        while (true) {
+            ArrayList<TreeNode<Integer>> children = parent.children;
+            if (children == null || index >= children.size()) {
+                if (stack.isEmpty()) { break; }
+                index = stack.tag();
+                parent = stack.pop();
+                continue;
+            }
+            TreeNode<Integer> child = children.get(index++);
+            visits++;
+            if (child instanceof AggregateTreeNode) {
+                nodeNumber += ((AggregateTreeNode) child).size();
+                continue;
+            }
+            nodeNumber++;
+            if (childCount(child) > 0) {
+                stack.push(parent, index);
+                parent = child;
+                index = 0;
+            }
+        }
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.count, visits, startNanos);
         }
-        nodeNumber++; // adds all the values of the nodes on the way back up
         return nodeNumber;
     }
 
@@ -88,6 +188,7 @@ public class TreeAlgorithms {
      * Computes the depth (height) of a tree.
      * A single node by itself has zero depth;
      * a single node and a single child has a depth of 1.
+     * Walks the tree with an explicit stack, so arbitrarily deep trees do not overflow the call stack.
      * @param root Root of the tree.
      * @return The depth (height) of the tree.
      */
@@ -95,35 +196,147 @@ public class TreeAlgorithms {
         // Counts the number of levels of children that exist
         int height = 0; // start at 0
         if (root == null){return 0;}
-        if (root.children==null||root.children.size()==0){return 0;} // if no children return 0 as well
-        for (TreeNode<T> child : root.children){
-            // compares the current height with those returned by other children
-            // keeps the max height
-            height = Math.max(height, depth(child));
+        if (root instanceof AggregateTreeNode) { return ((AggregateTreeNode) root).height(); }
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        int visits = 1;
+        NodeStack<TreeNode<T>> stack = new NodeStack<>();
+        TreeNode<T> parent = root;
+        int index = 0;
+        while (true) {
+            ArrayList<TreeNode<T>> children = parent.children;
+            if (children == null || index >= children.size()) {
+                if (stack.isEmpty()) { break; }
+                index = stack.tag();
+                parent = stack.pop();
+                continue;
+            }
+            TreeNode<T> child = children.get(index++);
+            visits++;
+            // The stack holds the parent's ancestors, so the child sits one level below its size
+            int level = stack.size() + 1;
+            if (child instanceof AggregateTreeNode) {
+                height = Math.max(height, level + ((AggregateTreeNode) child).height());
+                continue;
+            }
+            height = Math.max(height, level);
+            if (childCount(child) > 0) {
+                stack.push(parent, index);
+                parent = child;
+                index = 0;
+            }
+        }
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.depth, visits, startNanos);
         }
-        return height + 1; // Add one for the current level
+        return height;
     }
 
     /**
      * Determines if two trees are equal in value.
+     * Payloads are compared with equals, and a null children list counts as no children.
+     * The walk is iterative and stops at the first mismatch, and identical subtrees are skipped.
+     * Hashes cached by TreeAlgorithms::hash are ignored.
      * @param A Root of the first tree.
      * @param B Root of the second tree.
      * @param <T> Type of value contained by the tree.
      * @return True or false depending on the equality of the two trees.
      */
     public static <T> boolean equals(TreeNode<T> A, TreeNode<T> B) {
+        return equals(A, B, false);
+    }
+
+    /**
+     * Determines if two trees are equal in value, optionally rejecting subtrees whose hashes
+     * cached by TreeAlgorithms::hash differ without walking them.
+     *
+     * No mutator clears the cache, so only trust it if neither tree has changed since it was
+     * last hashed; otherwise two equal trees can be reported unequal.
+     * @param A Root of the first tree.
+     * @param B Root of the second tree.
+     * @param trustCachedHashes Whether cached hashes may be used to reject unequal subtrees.
+     * @param <T> Type of value contained by the tree.
+     * @return True or false depending on the equality of the two trees.
+     */
+    public static <T> boolean equals(TreeNode<T> A, TreeNode<T> B, boolean trustCachedHashes) {
         // Compares two trees to see if they are exactly the same in structure and payload values
-        if(A.payload!=B.payload||A.children.size()!=B.children.size()){return false;}
-        for (int i=0; i<A.children.size(); i++){
-            // uses recursion to compare each child in the tree
-            // Also an O(n) operation at worst.
-            if (equals(A.getChild(i), B.getChild(i))){
-                return true;
-            } else {
-                return false; // returns early if two nodes don't match
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        int visits = 0;
+        boolean equal = true;
+        NodeStack<TreeNode<T>> stack = new NodeStack<>();
+        stack.push(B, 0);
+        stack.push(A, 0);
+        while (!stack.isEmpty()) {
+            TreeNode<T> a = stack.pop();
+            TreeNode<T> b = stack.pop();
+            if (a == b) {
+                continue; // same subtree (or both null)
+            }
+            visits++;
+            if (a == null || b == null) {
+                equal = false;
+                break;
+            }
+            if (trustCachedHashes && a.hashed && b.hashed && a.structuralHash != b.structuralHash) {
+                equal = false;
+                break;
+            }
+            int size = childCount(a);
+            if (!Objects.equals(a.payload, b.payload) || size != childCount(b)) {
+                equal = false; // stops early if two nodes don't match
+                break;
+            }
+            for (int i = size - 1; i >= 0; i--) {
+                stack.push(b.children.get(i), 0);
+                stack.push(a.children.get(i), 0);
+            }
+        }
+        if (TreeMetrics.ENABLED) {
+            // visits counts the pairs of nodes compared
+            TreeMetrics.record(TreeMetrics.Operation.equals, visits, startNanos);
+        }
+        return equal;
+    }
+
+    /**
+     * Computes a Merkle-style hash of a tree, combining each payload's hashCode with the
+     * hashes of its children in order, and caches the hash on every node of the tree.
+     *
+     * TreeAlgorithms::equals(A, B, true) uses the cached hashes to reject unequal subtrees in O(1).
+     * The cache reflects the tree as it was when this method was last called; nothing clears it,
+     * so call this again after any change, including addChild and direct writes to children or payload.
+     * @param root Root of the tree.
+     * @param <T> Type of value contained by the tree.
+     * @return The hash of the whole tree; 0 for an empty tree.
+     */
+    public static <T> int hash(TreeNode<T> root) {
+        if (root == null) { return 0; }
+        // In pre-order every node comes before its children, so walking the list
+        // backwards hashes the children first
+        ArrayList<TreeNode<T>> nodes = new ArrayList<>();
+        ArrayDeque<TreeNode<T>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            TreeNode<T> current = stack.pop();
+            nodes.add(current);
+            for (int i = childCount(current) - 1; i >= 0; i--) {
+                stack.push(current.children.get(i));
+            }
+        }
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            TreeNode<T> node = nodes.get(i);
+            int hash = Objects.hashCode(node.payload);
+            int size = childCount(node);
+            for (int c = 0; c < size; c++) {
+                hash = 31 * hash + node.children.get(c).structuralHash;
             }
+            node.structuralHash = BinaryTreeAlgorithms.mix(31 * hash + size);
+            node.hashed = true;
         }
-        return true;
+        return root.structuralHash;
+    }
+
+    private static <T> int childCount(TreeNode<T> node) {
+        return node.children == null ? 0 : node.children.size();
     }
 
     /**
@@ -140,28 +353,74 @@ public class TreeAlgorithms {
         // Called breadth first
         LinkedList<Integer> returnList = new LinkedList<>();
         if (root==null){return returnList;}
-        // Create a queue to save all the nodes with children so they can
-        // Be traversed at a later time
-        Queue<TreeNode<Integer>> queue = new LinkedList<>();
-        // pop off and add root node first.
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        long startBytes = TreeMetrics.ENABLED ? TreeMetrics.allocatedBytes() : 0;
+        // An ArrayDeque is a ring buffer, so the queue does not allocate a node per element
+        ArrayDeque<TreeNode<Integer>> queue = new ArrayDeque<>();
         queue.add(root);
-        returnList.add(root.payload);
-        TreeNode<Integer> current;
         while(!queue.isEmpty()){
             // continue through the queue of children while it's not empty
-            current = queue.remove();
-            for (TreeNode<Integer> child : current.children) {
-                returnList.add(child.payload);
-                if (child.children.size() > 0) {
-                    // If the child has children, add this child to the queue to be traversed later
-                    queue.add(child);
-                }
+            TreeNode<Integer> current = queue.removeFirst();
+            returnList.add(current.payload);
+            if (current.children != null) {
+                queue.addAll(current.children);
             }
         }
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.bfs, returnList.size(), startNanos, startBytes);
+        }
 
         return returnList;
     }
 
+    /**
+     * Conducts a breadth first search on a tree, handing each level over as one batch.
+     * For repeated calls, keep a LevelOrder and call it directly so its buffers are reused.
+     *
+     * @param root Root of the tree.
+     * @param maxDepth Deepest level to visit (0 visits only the root); Integer.MAX_VALUE for no limit.
+     * @param consumer Receives each level's payloads, left to right. The list is reused for the
+     *                 next level, so copy it to keep it.
+     * @param <T> Type of value contained by the tree.
+     */
+    public static <T> void bfsLevels(TreeNode<T> root, int maxDepth, Consumer<? super List<T>> consumer) {
+        new LevelOrder().forEachLevel(root, maxDepth, consumer);
+    }
+
+    /**
+     * Creates a lazy iterator over a tree.
+     * @param root Root of the tree.
+     * @param order Breadth first or depth first (pre-order).
+     * @param <T> Type of value contained by the tree.
+     * @return An Iterator that expands nodes only as elements are requested.
+     */
+    public static <T> Iterator<T> iterator(TreeNode<T> root, TreeIterator.Order order) {
+        return new TreeIterator<>(root, order);
+    }
+
+    /**
+     * Creates a lazy, ordered Spliterator over a tree.
+     * @param root Root of the tree.
+     * @param order Breadth first or depth first (pre-order).
+     * @param <T> Type of value contained by the tree.
+     * @return A Spliterator that expands nodes only as elements are requested.
+     */
+    public static <T> Spliterator<T> spliterator(TreeNode<T> root, TreeIterator.Order order) {
+        return Spliterators.spliteratorUnknownSize(iterator(root, order), Spliterator.ORDERED);
+    }
+
+    /**
+     * Creates a lazy sequential Stream over a tree.
+     * Short-circuiting operations (findFirst, limit, anyMatch...) only visit the nodes they need.
+     * @param root Root of the tree.
+     * @param order Breadth first or depth first (pre-order).
+     * @param <T> Type of value contained by the tree.
+     * @return A Stream of the node payloads in traversal order.
+     */
+    public static <T> Stream<T> stream(TreeNode<T> root, TreeIterator.Order order) {
+        return StreamSupport.stream(spliterator(root, order), false);
+    }
+
     /**
      * Finds the path from a tree root to a target element.
      *
@@ -180,20 +439,100 @@ public class TreeAlgorithms {
         // Creates a list of nodes that create a path to the node specified.
         LinkedList<TreeNode<T>> returnList = new LinkedList<>();
         if (root==null){return returnList;}
-        if (root.payload==value){
-            returnList.add(root);
-            return returnList;
+        long startNanos = TreeMetrics.ENABLED ? System.nanoTime() : 0;
+        long startBytes = TreeMetrics.ENABLED ? TreeMetrics.allocatedBytes() : 0;
+        int visits = 1;
+        if (Objects.equals(root.payload, value)){
+            returnList.add(root); // found, so the walk below does not run
         }
-        for (TreeNode<T> child : root.children){
-            LinkedList<TreeNode<T>> values = path(child, value);
-            if (values.size()>0){
-                // if the list is greater than 0 then we know that we are on the right path
-                // and we add the current node to the front of our return list
-                returnList.addFirst(root);
-                returnList.addAll(values);
+        // Walks in pre-order until found; the stack plus parent is always the path from the root to child
+        NodeStack<TreeNode<T>> stack = new NodeStack<>();
+        TreeNode<T> parent = root;
+        int index = 0;
+        while (returnList.isEmpty()) {
+            ArrayList<TreeNode<T>> children = parent.children;
+            if (children == null || index >= children.size()) {
+                if (stack.isEmpty()) { break; }
+                index = stack.tag();
+                parent = stack.pop();
+                continue;
+            }
+            TreeNode<T> child = children.get(index++);
+            visits++;
+            if (Objects.equals(child.payload, value)) {
+                for (int i = 0; i < stack.size(); i++) {
+                    returnList.add(stack.get(i));
+                }
+                returnList.add(parent);
+                returnList.add(child);
+                break;
+            }
+            if (childCount(child) > 0) {
+                stack.push(parent, index);
+                parent = child;
+                index = 0;
             }
         }
+        if (TreeMetrics.ENABLED) {
+            TreeMetrics.record(TreeMetrics.Operation.path, visits, startNanos, startBytes);
+        }
 
         return returnList;
     }
+
+    /**
+     * Finds the paths from a tree root to many target elements in a single traversal.
+     *
+     * The tree is walked once in pre-order with an explicit stack, keeping only the
+     * current root-to-node trail, so extra memory is bounded by the tree depth plus the
+     * returned paths. The walk stops early once every target has been found.
+     * Payloads are compared with equals.
+     *
+     * @param root Root of the tree.
+     * @param values Values to search for.
+     * @param <T> Type of value contained by the tree.
+     * @return A map from each requested value to its path, in the same form as TreeAlgorithms::path.
+     * Values that are not present in the tree map to an empty list.
+     */
+    public static <T> Map<T, LinkedList<TreeNode<T>>> paths(TreeNode<T> root, Collection<T> values) {
+        Map<T, LinkedList<TreeNode<T>>> returnMap = new HashMap<>();
+        Set<T> remaining = new HashSet<>(values);
+        for (T value : remaining) {
+            returnMap.put(value, new LinkedList<>());
+        }
+        if (root == null) { return returnMap; }
+
+        if (remaining.remove(root.payload)) {
+            returnMap.get(root.payload).add(root);
+        }
+        // Walks in pre-order; the stack plus parent is always the path from the root to child,
+        // and each stack entry holds an ancestor with the index of its next child to visit
+        NodeStack<TreeNode<T>> stack = new NodeStack<>();
+        TreeNode<T> parent = root;
+        int index = 0;
+        while (!remaining.isEmpty()) {
+            ArrayList<TreeNode<T>> children = parent.children;
+            if (children == null || index >= children.size()) {
+                if (stack.isEmpty()) { break; }
+                index = stack.tag();
+                parent = stack.pop();
+                continue;
+            }
+            TreeNode<T> child = children.get(index++);
+            if (remaining.remove(child.payload)) {
+                LinkedList<TreeNode<T>> path = returnMap.get(child.payload);
+                for (int i = 0; i < stack.size(); i++) {
+                    path.add(stack.get(i));
+                }
+                path.add(parent);
+                path.add(child);
+            }
+            if (childCount(child) > 0) {
+                stack.push(parent, index);
+                parent = child;
+                index = 0;
+            }
+        }
+        return returnMap;
+    }
 }
@@ -0,0 +1,247 @@
+package trees;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Builds large TreeNode trees from edge lists and parent arrays.
+ *
+ * An edge file is a flat sequence of 12-byte big-endian records, one per node:
+ * <pre>
+ *   int parent id    -1 for the root
+ *   int child id     the node this record describes, from 0 up
+ *   int value        the node's payload
+ * </pre>
+ * Records may come in any order; each node's children keep the order of their records.
+ *
+ * The file is streamed twice through a fixed-size buffer. The first pass counts every node's
+ * children, so the second can create each children list at exactly the right capacity and never
+ * grow it, while leaves share the empty list of CompactTreeNode. Besides the tree itself,
+ * building holds an int, a reference and a flag per node id.
+ */
+public class TreeBuilder {
+    static final int RECORD_BYTES = 12;
+    private static final int DEFAULT_CHUNK_RECORDS = 1 << 16;
+
+    /**
+     * Builds a tree from an edge file.
+     * @param file File of (parent id, child id, value) records.
+     * @return Root of the tree; null if the file is empty.
+     * @throws IOException If the file cannot be read or does not describe a tree with ids from 0 up.
+     */
+    public static TreeNode<Integer> fromEdges(Path file) throws IOException {
+        return fromEdges(file, DEFAULT_CHUNK_RECORDS);
+    }
+
+    /**
+     * Builds a tree from an edge file, reading it chunkRecords records at a time.
+     * @param file File of (parent id, child id, value) records.
+     * @param chunkRecords Number of records read per I/O call.
+     * @return Root of the tree; null if the file is empty.
+     * @throws IOException If the file cannot be read or does not describe a tree with ids from 0 up.
+     */
+    public static TreeNode<Integer> fromEdges(Path file, int chunkRecords) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(chunkRecords * RECORD_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() % RECORD_BYTES != 0) {
+                throw new IOException(file + " is not a whole number of edge records");
+            }
+            long records = channel.size() / RECORD_BYTES;
+            if (records == 0) {
+                return null;
+            }
+            if (records > Integer.MAX_VALUE) {
+                throw new IOException(file + " has more nodes than fit in an array");
+            }
+
+            // First pass: how many children each id has
+            int[] degrees = new int[(int) records];
+            int roots = 0;
+            while (readChunk(channel, buffer)) {
+                while (buffer.hasRemaining()) {
+                    int parent = buffer.getInt();
+                    int child = buffer.getInt();
+                    buffer.getInt();
+                    checkId(child, degrees.length, file);
+                    if (parent < 0) {
+                        roots++;
+                    } else {
+                        checkId(parent, degrees.length, file);
+                        degrees[parent]++;
+                    }
+                }
+            }
+            if (roots != 1) {
+                throw new IOException(file + " has " + roots + " roots");
+            }
+
+            // Second pass: create each node on its own record, children lists at their final size.
+            // A parent whose record has not come yet is created early and given its payload later.
+            @SuppressWarnings("unchecked")
+            TreeNode<Integer>[] nodes = (TreeNode<Integer>[]) new TreeNode<?>[degrees.length];
+            boolean[] described = new boolean[degrees.length];
+            TreeNode<Integer> root = null;
+            channel.position(0);
+            while (readChunk(channel, buffer)) {
+                while (buffer.hasRemaining()) {
+                    int parent = buffer.getInt();
+                    int child = buffer.getInt();
+                    int value = buffer.getInt();
+                    if (described[child]) {
+                        throw new IOException(file + " describes node " + child + " twice");
+                    }
+                    described[child] = true;
+                    TreeNode<Integer> node = node(nodes, degrees, child);
+                    node.payload = value;
+                    if (parent < 0) {
+                        root = node;
+                    } else {
+                        node(nodes, degrees, parent).children.add(node);
+                    }
+                }
+            }
+            // Every id was described exactly once and there are as many ids as records,
+            // so every placeholder parent got its payload. Each node has one parent, so any
+            // node not reachable from the root sits on a detached cycle.
+            if (TreeAlgorithms.count(root) != degrees.length) {
+                throw new IOException(file + " has nodes that are not connected to the root");
+            }
+            return root;
+        }
+    }
+
+    /**
+     * Builds a tree from a parent array, in the same two passes as an edge file.
+     * Each node's children are in increasing id order.
+     * @param parents parents[i] is the id of node i's parent, or -1 for the root.
+     * @param values values[i] is node i's payload.
+     * @return Root of the tree; null if the arrays are empty.
+     * @throws IllegalArgumentException If the arrays differ in length, an id is out of range,
+     *                                  there is not exactly one root, or a node is not connected to it.
+     */
+    public static TreeNode<Integer> fromParentArray(int[] parents, int[] values) {
+        if (parents.length != values.length) {
+            throw new IllegalArgumentException("parents and values must have the same length");
+        }
+        if (parents.length == 0) {
+            return null;
+        }
+        int[] degrees = new int[parents.length];
+        int rootId = -1;
+        for (int i = 0; i < parents.length; i++) {
+            if (parents[i] < 0) {
+                if (rootId >= 0) {
+                    throw new IllegalArgumentException("nodes " + rootId + " and " + i + " are both roots");
+                }
+                rootId = i;
+            } else if (parents[i] >= parents.length) {
+                throw new IllegalArgumentException("node " + i + " has parent " + parents[i] + ", which is out of range");
+            } else {
+                degrees[parents[i]]++;
+            }
+        }
+        if (rootId < 0) {
+            throw new IllegalArgumentException("no node is the root");
+        }
+
+        @SuppressWarnings("unchecked")
+        TreeNode<Integer>[] nodes = (TreeNode<Integer>[]) new TreeNode<?>[parents.length];
+        for (int i = 0; i < parents.length; i++) {
+            nodes[i] = new TreeNode<>(values[i], children(degrees[i]));
+        }
+        for (int i = 0; i < parents.length; i++) {
+            if (parents[i] >= 0) {
+                nodes[parents[i]].children.add(nodes[i]);
+            }
+        }
+        // Each node has one parent, so any node not reachable from the root sits on a detached cycle
+        if (TreeAlgorithms.count(nodes[rootId]) != parents.length) {
+            throw new IllegalArgumentException("some nodes are not connected to root " + rootId);
+        }
+        return nodes[rootId];
+    }
+
+    /**
+     * Writes a tree of Integers as an edge file readable by TreeBuilder::fromEdges,
+     * numbering the nodes in breadth first order. Replaces any existing file.
+     * @param root Root of the tree; may be null for an empty file.
+     * @param file File to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeEdges(TreeNode<Integer> root, Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(DEFAULT_CHUNK_RECORDS * RECORD_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            if (root == null) {
+                return;
+            }
+            ArrayDeque<TreeNode<Integer>> queue = new ArrayDeque<>();
+            // Ids are handed out in the order nodes join the queue, so a node's id is known when it is written
+            int[] parentIds = new int[16];
+            queue.add(root);
+            parentIds[0] = -1;
+            int nextId = 1;
+            for (int id = 0; !queue.isEmpty(); id++) {
+                TreeNode<Integer> current = queue.remove();
+                if (buffer.remaining() < RECORD_BYTES) {
+                    flush(channel, buffer);
+                }
+                buffer.putInt(parentIds[id]).putInt(id).putInt(current.payload);
+                if (current.children != null) {
+                    for (TreeNode<Integer> child : current.children) {
+                        if (nextId == parentIds.length) {
+                            parentIds = Arrays.copyOf(parentIds, nextId * 2);
+                        }
+                        parentIds[nextId++] = id;
+                        queue.add(child);
+                    }
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    private static TreeNode<Integer> node(TreeNode<Integer>[] nodes, int[] degrees, int id) {
+        TreeNode<Integer> node = nodes[id];
+        if (node == null) {
+            node = new TreeNode<>(null, children(degrees[id]));
+            nodes[id] = node;
+        }
+        return node;
+    }
+
+    // Leaves share the compact empty list, everything else gets a list of exactly its size
+    private static ArrayList<TreeNode<Integer>> children(int degree) {
+        return degree == 0 ? TreeNode.<Integer>emptyChildren() : new ArrayList<>(degree);
+    }
+
+    private static void checkId(int id, int count, Path file) throws IOException {
+        if (id < 0 || id >= count) {
+            throw new IOException(file + " has node id " + id + " outside 0.." + (count - 1));
+        }
+    }
+
+    // Refills the buffer with whole records; false once the channel is exhausted
+    private static boolean readChunk(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+            // keep reading until the buffer is full or the file ends
+        }
+        buffer.flip();
+        return buffer.hasRemaining();
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
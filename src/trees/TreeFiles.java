@@ -0,0 +1,284 @@
+package trees;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * Saves and loads BinaryNode and TreeNode trees in a compact binary format.
+ *
+ * Layout (big-endian):
+ * <pre>
+ *   int  magic            "TREE"
+ *   byte kind             KIND_BINARY or KIND_TREE
+ *   byte payload type     PAYLOAD_INT or PAYLOAD_OBJECT
+ *   int  node count
+ *   long structure offset
+ *   payload column        pre-order; 4 bytes per node for PAYLOAD_INT,
+ *                         otherwise a Java serialization stream of the payloads
+ *   structure bits        pre-order; binary trees use 2 bits per node (has left, has right),
+ *                         trees write each node's child count in unary (d ones, then a zero)
+ * </pre>
+ * Trees whose payloads are all Integers use the fixed width int column, which
+ * MappedTreeFile can read directly from a memory mapped file.
+ */
+public class TreeFiles {
+    static final int MAGIC = 0x54524545;
+    static final byte KIND_BINARY = 1;
+    static final byte KIND_TREE = 2;
+    static final byte PAYLOAD_INT = 1;
+    static final byte PAYLOAD_OBJECT = 2;
+    static final int HEADER_BYTES = 18;
+
+    /**
+     * Writes a binary tree to a file, replacing any existing file.
+     * @param root Root of the tree; may be null.
+     * @param file File to write.
+     * @param <T> Type of node payload; must be Serializable unless every payload is an Integer.
+     */
+    public static <T> void write(BinaryNode<T> root, Path file) throws IOException {
+        ArrayList<T> payloads = new ArrayList<>();
+        BitSet structure = new BitSet();
+        if (root != null) {
+            ArrayDeque<BinaryNode<T>> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                BinaryNode<T> current = stack.pop();
+                int position = payloads.size();
+                payloads.add(current.payload);
+                structure.set(2 * position, current.left != null);
+                structure.set(2 * position + 1, current.right != null);
+                if (current.right != null) { stack.push(current.right); }
+                if (current.left != null) { stack.push(current.left); }
+            }
+        }
+        write(file, KIND_BINARY, payloads, structure, 2L * payloads.size());
+    }
+
+    /**
+     * Writes a tree to a file, replacing any existing file.
+     * @param root Root of the tree; may be null.
+     * @param file File to write.
+     * @param <T> Type of node payload; must be Serializable unless every payload is an Integer.
+     */
+    public static <T> void write(TreeNode<T> root, Path file) throws IOException {
+        ArrayList<T> payloads = new ArrayList<>();
+        BitSet structure = new BitSet();
+        long bits = 0;
+        if (root != null) {
+            ArrayDeque<TreeNode<T>> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                TreeNode<T> current = stack.pop();
+                payloads.add(current.payload);
+                int degree = current.children == null ? 0 : current.children.size();
+                structure.set((int) bits, (int) bits + degree);
+                bits += degree + 1;
+                for (int i = degree - 1; i >= 0; i--) {
+                    stack.push(current.children.get(i));
+                }
+            }
+        }
+        write(file, KIND_TREE, payloads, structure, bits);
+    }
+
+    /**
+     * Reads a binary tree written by TreeFiles::write.
+     * @param file File to read.
+     * @param <T> Type of node payload.
+     * @return Root of the tree, or null if an empty tree was written.
+     * @throws IOException If the file cannot be read, does not hold a binary tree, is truncated, or its
+     *                     structure bits do not describe a tree of its node count.
+     */
+    public static <T> BinaryNode<T> readBinary(Path file) throws IOException {
+        Contents<T> contents = read(file, KIND_BINARY);
+        BinaryNode<T> root = null;
+        BinaryNode<T> waitingForLeft = null;
+        // Nodes whose right child comes once their left subtree is finished
+        ArrayDeque<BinaryNode<T>> waitingForRight = new ArrayDeque<>();
+        for (int i = 0; i < contents.payloads.size(); i++) {
+            BinaryNode<T> node = new BinaryNode<>(contents.payloads.get(i));
+            if (root == null) {
+                root = node;
+            } else if (waitingForLeft != null) {
+                waitingForLeft.left = node;
+            } else if (!waitingForRight.isEmpty()) {
+                waitingForRight.pop().right = node;
+            } else {
+                throw inconsistent(file);
+            }
+            waitingForLeft = contents.structure.get(2 * i) ? node : null;
+            if (contents.structure.get(2 * i + 1)) {
+                waitingForRight.push(node);
+            }
+        }
+        if (waitingForLeft != null || !waitingForRight.isEmpty()) {
+            throw inconsistent(file);
+        }
+        // Children were linked after their parents were created
+        BinaryTreeAlgorithms.updateSizes(root);
+        return root;
+    }
+
+    /**
+     * Reads a tree written by TreeFiles::write. Children lists are allocated at their exact size.
+     * @param file File to read.
+     * @param <T> Type of node payload.
+     * @return Root of the tree, or null if an empty tree was written.
+     * @throws IOException If the file cannot be read, does not hold a tree, is truncated, or its
+     *                     structure bits do not describe a tree of its node count.
+     */
+    public static <T> TreeNode<T> readTree(Path file) throws IOException {
+        Contents<T> contents = read(file, KIND_TREE);
+        TreeNode<T> root = null;
+        // The tag holds how many children the node is still waiting for
+        NodeStack<TreeNode<T>> parents = new NodeStack<>();
+        int bit = 0;
+        for (int i = 0; i < contents.payloads.size(); i++) {
+            int degree = contents.structure.nextClearBit(bit) - bit;
+            bit += degree + 1;
+            TreeNode<T> node = new TreeNode<>(contents.payloads.get(i), new ArrayList<>(degree));
+            if (root == null) {
+                root = node;
+            } else if (parents.isEmpty()) {
+                throw inconsistent(file);
+            } else {
+                int remaining = parents.tag();
+                TreeNode<T> parent = parents.pop();
+                parent.children.add(node);
+                if (remaining > 1) {
+                    parents.push(parent, remaining - 1);
+                }
+            }
+            if (degree > 0) {
+                parents.push(node, degree);
+            }
+        }
+        if (!parents.isEmpty()) {
+            throw inconsistent(file);
+        }
+        return root;
+    }
+
+    private static <T> void write(Path file, byte kind, ArrayList<T> payloads, BitSet structure, long bits)
+            throws IOException {
+        boolean ints = true;
+        for (T payload : payloads) {
+            ints = ints && payload instanceof Integer;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_BYTES);
+            // Not closed here: closing would close the channel before the header is written
+            OutputStream stream = new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16);
+            if (ints) {
+                DataOutputStream data = new DataOutputStream(stream);
+                for (T payload : payloads) {
+                    data.writeInt((Integer) payload);
+                }
+                data.flush();
+            } else {
+                ObjectOutputStream objects = new ObjectOutputStream(stream);
+                for (T payload : payloads) {
+                    objects.writeObject(payload);
+                }
+                objects.flush();
+            }
+            long structureOffset = channel.position();
+
+            byte[] packed = new byte[(int) ((bits + 7) / 8)];
+            byte[] set = structure.toByteArray();
+            System.arraycopy(set, 0, packed, 0, Math.min(set.length, packed.length));
+            stream.write(packed);
+            stream.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).put(kind).put(ints ? PAYLOAD_INT : PAYLOAD_OBJECT)
+                    .putInt(payloads.size()).putLong(structureOffset).flip();
+            channel.write(header, 0);
+        }
+    }
+
+    /**
+     * @return The length of the structure bits of a tree with count nodes, rounded up to whole bytes.
+     */
+    static long structureBytes(byte kind, int count) {
+        long bits = kind == KIND_BINARY ? 2L * count : Math.max(2L * count - 1, 0);
+        return (bits + 7) / 8;
+    }
+
+    private static IOException inconsistent(Path file) {
+        return new IOException(file + " has structure bits that do not match its node count");
+    }
+
+    private static class Contents<T> {
+        ArrayList<T> payloads;
+        BitSet structure;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Contents<T> read(Path file, byte kind) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 1 << 16)) {
+            DataInputStream data = new DataInputStream(in);
+            if (data.readInt() != MAGIC) {
+                throw new IOException(file + " is not a tree file");
+            }
+            if (data.readByte() != kind) {
+                throw new IOException(file + " holds a different kind of tree");
+            }
+            byte payloadType = data.readByte();
+            int count = data.readInt();
+            long structureOffset = data.readLong();
+            long structureBytes = structureBytes(kind, count);
+            long payloadBytes = payloadType == PAYLOAD_INT ? 4L * count : 0;
+            if (count < 0 || HEADER_BYTES + payloadBytes > structureOffset
+                    || structureOffset + structureBytes > channel.size()) {
+                throw new IOException(file + " is truncated or its header is corrupt");
+            }
+
+            Contents<T> contents = new Contents<>();
+            contents.payloads = new ArrayList<>(count);
+            if (payloadType == PAYLOAD_INT) {
+                for (int i = 0; i < count; i++) {
+                    contents.payloads.add((T) Integer.valueOf(data.readInt()));
+                }
+            } else {
+                ObjectInputStream objects = new ObjectInputStream(in);
+                try {
+                    for (int i = 0; i < count; i++) {
+                        contents.payloads.add((T) objects.readObject());
+                    }
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("unknown payload class in " + file, e);
+                }
+            }
+
+            byte[] packed = new byte[(int) structureBytes];
+            // The object stream may have buffered ahead, so find the structure from its offset;
+            // a positional read leaves the stream's position alone
+            ByteBuffer buffer = ByteBuffer.wrap(packed);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, structureOffset + buffer.position()) < 0) {
+                    throw new IOException(file + " is truncated");
+                }
+            }
+            contents.structure = BitSet.valueOf(packed);
+            return contents;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A lazy iterator over the payloads of a tree, in breadth first or depth first (pre-order) order.
+ * Children are only expanded as the caller asks for more elements.
+ * @param <T> Type of node payload.
+ */
+public class TreeIterator<T> implements Iterator<T> {
+    public enum Order {
+        bfs,
+        dfs
+    }
+
+    private final Order order;
+    private final ArrayDeque<TreeNode<T>> pending = new ArrayDeque<>();
+
+    public TreeIterator(TreeNode<T> root, Order order) {
+        this.order = order;
+        if (root != null) {
+            pending.add(root);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public T next() {
+        if (pending.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        if (order == Order.bfs) {
+            // Used as a queue: children go to the back
+            TreeNode<T> current = pending.removeFirst();
+            if (current.children != null) {
+                pending.addAll(current.children);
+            }
+            return current.payload;
+        }
+        // Used as a stack: push children last to first so the first child comes off next
+        TreeNode<T> current = pending.pop();
+        if (current.children != null) {
+            for (int i = current.children.size() - 1; i >= 0; i--) {
+                pending.push(current.children.get(i));
+            }
+        }
+        return current.payload;
+    }
+}
@@ -0,0 +1,241 @@
+package trees;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters and histograms for the hot tree operations.
+ *
+ * Recording is switched on with -Dtrees.metrics=true. ENABLED is a static final constant, so when
+ * it is off the JIT folds every guarded "if (TreeMetrics.ENABLED)" block, and the visit counters
+ * that only feed those blocks, out of the compiled code entirely.
+ *
+ * For each operation three histograms are kept: nodes visited per call (the search or insert path
+ * length, which also tracks height drift through its max), nanoseconds per call, and, for the
+ * traversals and the walks that return lists, bytes allocated by the calling thread per call.
+ * Histograms use power-of-two buckets made of LongAdders, so concurrent recording is lock-free
+ * and striped across threads.
+ */
+public final class TreeMetrics {
+    public static final boolean ENABLED = Boolean.getBoolean("trees.metrics");
+
+    public enum Operation {binarySearch, insert, preOrder, inOrder, postOrder, bfs, max, min, count, depth, leaves, path, equals}
+
+    /**
+     * JMX view of the metrics, registered by registerMBean.
+     */
+    public interface TreeMetricsMXBean {
+        /**
+         * @return Count, mean, p50, p99 and max of every histogram, keyed like "insert.visits.p99".
+         */
+        Map<String, Long> getSummary();
+
+        void reset();
+    }
+
+    private static final int BUCKETS = 64;
+
+    private static final Map<Operation, Histogram[]> HISTOGRAMS = new EnumMap<>(Operation.class);
+    private static final int VISITS = 0;
+    private static final int NANOS = 1;
+    private static final int BYTES = 2;
+    private static final String[] HISTOGRAM_NAMES = {"visits", "nanos", "bytes"};
+
+    static {
+        for (Operation operation : Operation.values()) {
+            HISTOGRAMS.put(operation, new Histogram[]{new Histogram(), new Histogram(), new Histogram()});
+        }
+    }
+
+    private TreeMetrics() {
+    }
+
+    /**
+     * An immutable copy of one histogram.
+     */
+    public static final class Snapshot {
+        private final long[] buckets;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] buckets, long sum, long max) {
+            this.buckets = buckets;
+            long count = 0;
+            for (long bucket : buckets) {
+                count += bucket;
+            }
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile Between 0 and 100.
+         * @return An upper bound (within a factor of two) on the value at that percentile, or 0 if empty.
+         */
+        public long percentile(double percentile) {
+            long rank = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * @return Nodes visited per call of the operation.
+     */
+    public static Snapshot visits(Operation operation) {
+        return HISTOGRAMS.get(operation)[VISITS].snapshot();
+    }
+
+    /**
+     * @return Nanoseconds per call of the operation.
+     */
+    public static Snapshot nanos(Operation operation) {
+        return HISTOGRAMS.get(operation)[NANOS].snapshot();
+    }
+
+    /**
+     * @return Bytes allocated by the calling thread per call; only recorded for traversals, leaves and path.
+     */
+    public static Snapshot allocatedBytes(Operation operation) {
+        return HISTOGRAMS.get(operation)[BYTES].snapshot();
+    }
+
+    /**
+     * @return Count, mean, p50, p99 and max of every non-empty histogram, keyed like "insert.visits.p99".
+     */
+    public static Map<String, Long> summary() {
+        Map<String, Long> summary = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram[] histograms = HISTOGRAMS.get(operation);
+            for (int i = 0; i < histograms.length; i++) {
+                Snapshot snapshot = histograms[i].snapshot();
+                if (snapshot.count() == 0) {
+                    continue;
+                }
+                String prefix = operation + "." + HISTOGRAM_NAMES[i] + ".";
+                summary.put(prefix + "count", snapshot.count());
+                summary.put(prefix + "mean", Math.round(snapshot.mean()));
+                summary.put(prefix + "p50", snapshot.percentile(50));
+                summary.put(prefix + "p99", snapshot.percentile(99));
+                summary.put(prefix + "max", snapshot.max());
+            }
+        }
+        return summary;
+    }
+
+    public static void reset() {
+        for (Histogram[] histograms : HISTOGRAMS.values()) {
+            for (Histogram histogram : histograms) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server as trees:type=TreeMetrics.
+     * @return The name it was registered under.
+     * @throws JMException If registration fails, for example because it is already registered.
+     */
+    public static ObjectName registerMBean() throws JMException {
+        ObjectName name = new ObjectName("trees:type=TreeMetrics");
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new TreeMetricsMXBean() {
+            @Override
+            public Map<String, Long> getSummary() {
+                return summary();
+            }
+
+            @Override
+            public void reset() {
+                TreeMetrics.reset();
+            }
+        }, name);
+        return name;
+    }
+
+    // Called by the algorithms from inside "if (TreeMetrics.ENABLED)" blocks only
+
+    static void record(Operation operation, long visits, long startNanos) {
+        Histogram[] histograms = HISTOGRAMS.get(operation);
+        histograms[NANOS].record(System.nanoTime() - startNanos);
+        histograms[VISITS].record(visits);
+    }
+
+    static void record(Operation operation, long visits, long startNanos, long startBytes) {
+        record(operation, visits, startNanos);
+        HISTOGRAMS.get(operation)[BYTES].record(allocatedBytes() - startBytes);
+    }
+
+    static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    private static long upperBound(int bucket) {
+        return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    private static final class Histogram {
+        // Bucket i holds values in [2^(i-1), 2^i - 1]; bucket 0 holds zero and below
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            int bucket = value <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(value));
+            buckets[bucket].increment();
+            sum.add(value);
+            max.accumulate(value);
+        }
+
+        Snapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return new Snapshot(counts, sum.sum(), max.get());
+        }
+
+        void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            sum.reset();
+            max.reset();
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package trees;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.NoSuchElementException;
 
 public class TreeNode<T> {
     public ArrayList<TreeNode<T>> children;
     public T payload;
 
+    // Merkle-style hash of this subtree, cached by TreeAlgorithms::hash; stale once the subtree changes
+    int structuralHash;
+    boolean hashed;
+
     public TreeNode(T payload) {
         this.payload = payload;
         this.children = new ArrayList<>();
@@ -20,6 +25,9 @@ public class TreeNode<T> {
     public int addChild(TreeNode<T> child) {
         if (children == null) {
             children = new ArrayList<TreeNode<T>>();
+        } else if (children == EMPTY_CHILDREN) {
+            // A compact leaf gaining its first child; most nodes never get more than a couple
+            children = new ArrayList<TreeNode<T>>(2);
         }
 
         children.add(child);
@@ -33,4 +41,49 @@ public class TreeNode<T> {
 
         return children.get(index);
     }
+
+    /**
+     * The children list shared by every compact leaf (see CompactTreeNode).
+     * It is always empty: adding to it directly throws UnsupportedOperationException,
+     * while addChild swaps in a list of the node's own.
+     */
+    static final ArrayList<?> EMPTY_CHILDREN = new EmptyChildren();
+
+    @SuppressWarnings("unchecked")
+    static <T> ArrayList<TreeNode<T>> emptyChildren() {
+        return (ArrayList<TreeNode<T>>) EMPTY_CHILDREN;
+    }
+
+    private static final class EmptyChildren extends ArrayList<Object> {
+        private static final long serialVersionUID = 1L;
+
+        EmptyChildren() {
+            super(0);
+        }
+
+        // Keeps the sentinel shared across serialization, so addChild still recognises it
+        private Object readResolve() {
+            return EMPTY_CHILDREN;
+        }
+
+        @Override
+        public boolean add(Object element) {
+            throw new UnsupportedOperationException("leaf children list is shared; use addChild");
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            throw new UnsupportedOperationException("leaf children list is shared; use addChild");
+        }
+
+        @Override
+        public boolean addAll(Collection<?> elements) {
+            throw new UnsupportedOperationException("leaf children list is shared; use addChild");
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<?> elements) {
+            throw new UnsupportedOperationException("leaf children list is shared; use addChild");
+        }
+    }
 }
@@ -0,0 +1,141 @@
+package trees;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+
+/**
+ * A side index from payloads to the nodes of a TreeNode tree, with parent links.
+ *
+ * find is an O(1) hash lookup and path walks up the parent links in O(depth), instead of
+ * scanning the tree like TreeAlgorithms::path. Payloads are compared with equals.
+ * Integer payloads are held unboxed in an open-addressing map, so looking them up compares ints and
+ * never allocates; any other payloads go through a HashMap.
+ *
+ * The index stays in sync as long as children are only appended through TreeNodeIndex::addChild;
+ * rebuild it after any other change to the tree.
+ * @param <T> Type of value contained by the tree.
+ */
+public class TreeNodeIndex<T> {
+    private final IntNodeMap<TreeNode<T>> intNodes = new IntNodeMap<>();
+    private final HashMap<T, TreeNode<T>> nodes = new HashMap<>();
+    // Keyed by node identity, so equal payloads in different places keep their own parent
+    private final IdentityHashMap<TreeNode<T>, TreeNode<T>> parents = new IdentityHashMap<>();
+
+    /**
+     * Builds the index in one O(n) pass.
+     * When a value appears more than once, the first occurrence in pre-order wins,
+     * matching TreeAlgorithms::path.
+     * @param root Root of the tree.
+     */
+    public TreeNodeIndex(TreeNode<T> root) {
+        if (root != null) {
+            index(root, null);
+        }
+    }
+
+    public int size() {
+        return parents.size();
+    }
+
+    public boolean contains(T value) {
+        return find(value) != null;
+    }
+
+    /**
+     * @param value The value to search for.
+     * @return The node containing the value, or null if it is not present.
+     */
+    public TreeNode<T> find(T value) {
+        if (value instanceof Integer) {
+            return intNodes.get((Integer) value);
+        }
+        return nodes.get(value);
+    }
+
+    /**
+     * @param node A node of the tree.
+     * @return Its parent, or null for the root or a node that is not in the index.
+     */
+    public TreeNode<T> parent(TreeNode<T> node) {
+        return parents.get(node);
+    }
+
+    /**
+     * Finds the path from the tree root to a target element in O(depth).
+     * @param value Value to search for.
+     * @return A LinkedList of TreeNodes in the same form as TreeAlgorithms::path:
+     * starting with the root, empty if the value is not present.
+     */
+    public LinkedList<TreeNode<T>> path(T value) {
+        LinkedList<TreeNode<T>> returnList = new LinkedList<>();
+        for (TreeNode<T> current = find(value); current != null; current = parents.get(current)) {
+            returnList.addFirst(current);
+        }
+        return returnList;
+    }
+
+    /**
+     * Appends a child to a node of the tree and indexes it, along with any subtree it already has.
+     * Values already in the index keep pointing at their existing node.
+     * @param parent A node already in the index.
+     * @param child The new child; neither it nor any node of its subtree may already be in the index.
+     * @return The index of the child in the parent's children, as returned by TreeNode::addChild.
+     * @throws IllegalArgumentException If parent is not in the index, if child or a node of its subtree
+     * already is, or if a node appears twice in child's subtree; the tree and index are then unchanged.
+     */
+    public int addChild(TreeNode<T> parent, TreeNode<T> child) {
+        if (!parents.containsKey(parent)) {
+            throw new IllegalArgumentException("parent is not in the tree");
+        }
+        checkNewSubtree(child);
+        int position = parent.addChild(child);
+        index(child, parent);
+        return position;
+    }
+
+    // Rejects a subtree that shares nodes with the tree or with itself, since indexing it would
+    // overwrite parent links of nodes that are already indexed
+    private void checkNewSubtree(TreeNode<T> subtreeRoot) {
+        IdentityHashMap<TreeNode<T>, Boolean> seen = new IdentityHashMap<>();
+        ArrayDeque<TreeNode<T>> stack = new ArrayDeque<>();
+        stack.push(subtreeRoot);
+        while (!stack.isEmpty()) {
+            TreeNode<T> current = stack.pop();
+            if (parents.containsKey(current)) {
+                throw new IllegalArgumentException("child's subtree is already in the tree");
+            }
+            if (seen.put(current, Boolean.TRUE) != null) {
+                throw new IllegalArgumentException("node appears twice in the child's subtree");
+            }
+            if (current.children != null) {
+                for (TreeNode<T> child : current.children) {
+                    stack.push(child);
+                }
+            }
+        }
+    }
+
+    // Walks a subtree in pre-order, so the first occurrence of a value is indexed first
+    private void index(TreeNode<T> subtreeRoot, TreeNode<T> parent) {
+        NodeStack<TreeNode<T>> stack = new NodeStack<>();
+        parents.put(subtreeRoot, parent);
+        stack.push(subtreeRoot, 0);
+        while (!stack.isEmpty()) {
+            TreeNode<T> current = stack.pop();
+            if (current.payload instanceof Integer) {
+                intNodes.putIfAbsent((Integer) current.payload, current);
+            } else {
+                nodes.putIfAbsent(current.payload, current);
+            }
+            if (current.children != null) {
+                for (int i = current.children.size() - 1; i >= 0; i--) {
+                    TreeNode<T> child = current.children.get(i);
+                    parents.put(child, current);
+                    stack.push(child, 0);
+                }
+            }
+        }
+    }
+}